@@ -0,0 +1,177 @@
+package managers;
+
+import managers.task.*;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Потоковая выгрузка и загрузка всей доски в двоичном виде с сохранением id и порядка истории.
+// Формат: заголовок (MAGIC, VERSION, флаг сжатия), затем — возможно сжатое — тело:
+// nextId, число задач, записи задач (эпики раньше подзадач), число id в истории, id истории.
+public class BoardArchive {
+    private static final int MAGIC = 0x4B424E31; // "KBN1"
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BoardArchive() {
+    }
+
+    public static void exportBoard(InMemoryTaskManager manager, Path file, boolean compress) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream raw = Channels.newOutputStream(channel);
+            DataOutputStream header = new DataOutputStream(raw);
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeBoolean(compress);
+
+            OutputStream body = compress ? new GZIPOutputStream(raw, BUFFER_SIZE) : raw;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(body, BUFFER_SIZE))) {
+                List<Epic> epics = manager.getAllEpics();
+                List<Task> tasks = manager.getAllTasks();
+                List<Subtask> subtasks = manager.getAllSubtasks();
+
+                out.writeInt(manager.peekNextId());
+                out.writeInt(epics.size() + tasks.size() + subtasks.size());
+                for (Epic epic : epics) {
+                    writeTask(out, TaskType.EPIC, epic, 0);
+                }
+                for (Task task : tasks) {
+                    writeTask(out, TaskType.TASK, task, 0);
+                }
+                for (Subtask subtask : subtasks) {
+                    writeTask(out, TaskType.SUBTASK, subtask, subtask.getEpicId());
+                }
+
+                List<Task> history = manager.getHistory().getHistory();
+                out.writeInt(history.size());
+                for (Task task : history) {
+                    out.writeInt(task.getId());
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot export board to " + file, e);
+        }
+    }
+
+    // загружает доску в пустой менеджер, минуя addTask/addEpic/addSubtask.
+    // Архив сначала читается целиком: при ошибке разбора target остаётся пустым
+    public static void importBoard(Path file, InMemoryTaskManager target) {
+        if (!target.isEmpty()) {
+            throw new IllegalArgumentException("Target manager must be empty");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            InputStream raw = Channels.newInputStream(channel);
+            DataInputStream header = new DataInputStream(raw);
+            if (header.readInt() != MAGIC || header.readByte() != VERSION) {
+                throw new IllegalArgumentException("Not a board archive: " + file);
+            }
+            boolean compressed = header.readBoolean();
+
+            InputStream body = compressed ? new GZIPInputStream(raw, BUFFER_SIZE) : raw;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(body, BUFFER_SIZE))) {
+                int nextId = in.readInt();
+                // счётчикам из архива не доверяем: списки растут по мере чтения,
+                // и повреждённое значение упирается в конец потока, а не в размер выделенной памяти
+                int count = readCount(in);
+                List<Task> staged = new ArrayList<>();
+                Set<Integer> ids = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    Task task = readTask(in);
+                    if (!ids.add(task.getId())) {
+                        throw new IllegalArgumentException("Corrupt board archive: duplicate id " + task.getId());
+                    }
+                    staged.add(task);
+                }
+
+                int historyCount = readCount(in);
+                List<Integer> historyIds = new ArrayList<>();
+                for (int i = 0; i < historyCount; i++) {
+                    historyIds.add(in.readInt());
+                }
+                int[] history = historyIds.stream().mapToInt(Integer::intValue).toArray();
+
+                for (Task task : staged) {
+                    target.restore(task);
+                }
+                target.rebuildIndexes(nextId, history);
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot import board from " + file, e);
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, TaskType type, Task task, int epicId) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeInt(task.getId());
+        out.writeByte(task.getStatus().ordinal());
+        out.writeInt(epicId);
+        writeString(out, task.getTitle());
+        writeString(out, task.getDescription());
+    }
+
+    private static Task readTask(DataInputStream in) throws IOException {
+        TaskType type = TYPES[readOrdinal(in, TYPES.length, "type")];
+        int id = in.readInt();
+        if (id <= 0) {
+            throw new IllegalArgumentException("Corrupt board archive: bad id " + id);
+        }
+        TaskStatus status = STATUSES[readOrdinal(in, STATUSES.length, "status")];
+        int epicId = in.readInt();
+        String title = readString(in);
+        String description = readString(in);
+        return new TaskRecord(type, id, title, description, status, epicId).toTask();
+    }
+
+    // длина в байтах UTF-8, -1 для null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int readOrdinal(DataInputStream in, int size, String field) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= size) {
+            throw new IllegalArgumentException("Corrupt board archive: bad " + field + " " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Corrupt board archive: bad count " + count);
+        }
+        return count;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) return null;
+        if (length < 0) {
+            throw new IllegalArgumentException("Corrupt board archive: bad string length " + length);
+        }
+        byte[] bytes = in.readNBytes(length); // читает частями, не выделяя length байт заранее
+        if (bytes.length != length) {
+            throw new EOFException("Board archive ends inside a string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
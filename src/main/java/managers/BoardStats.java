@@ -0,0 +1,175 @@
+package managers;
+
+import managers.task.Task;
+import managers.task.TaskStatus;
+import managers.task.TaskType;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Данные по задачам лежат в массивах примитивов (индекс = id), поэтому чтение не упаковывает ключи.
+// Эти же массивы — общая запись о статусе и эпике задачи для DependencyGraph.
+public class BoardStats {
+    private static final byte ABSENT = 0;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final int[][] counts = new int[TYPES.length][STATUSES.length];
+    private final int[] totals = new int[TYPES.length];
+    private byte[] types = new byte[16]; // ordinal + 1, ABSENT — задачи нет
+    private byte[] statuses = new byte[16];
+    private int[] epicOf = new int[16]; // для подзадачи — эпик, к которому она привязана
+    private int[] epicDone = new int[16];
+    private int[] epicTotal = new int[16];
+    // порядок зависит от epicTotal, поэтому при изменении размера эпик переставляется целиком
+    private final TreeSet<Integer> bySize = new TreeSet<>((a, b) -> epicTotal[a] != epicTotal[b]
+            ? Integer.compare(epicTotal[b], epicTotal[a]) : Integer.compare(a, b));
+    private final int[] topEpicIds;
+    private final int[] topEpicSizes;
+    private int topCount;
+
+    public BoardStats(int topK) {
+        if (topK < 0) {
+            throw new IllegalArgumentException("topK must not be negative");
+        }
+        topEpicIds = new int[topK];
+        topEpicSizes = new int[topK];
+    }
+
+    public int getCount(TaskType type) {
+        return totals[type.ordinal()];
+    }
+
+    public int getCount(TaskType type, TaskStatus status) {
+        return counts[type.ordinal()][status.ordinal()];
+    }
+
+    public int getEpicDone(int epicId) {
+        return isEpic(epicId) ? epicDone[epicId] : 0;
+    }
+
+    public int getEpicTotal(int epicId) {
+        return isEpic(epicId) ? epicTotal[epicId] : 0;
+    }
+
+    public int getEpicProgressPercent(int epicId) {
+        if (!isEpic(epicId) || epicTotal[epicId] == 0) return 0;
+        return epicDone[epicId] * 100 / epicTotal[epicId];
+    }
+
+    public int getTopEpicCount() {
+        return topCount;
+    }
+
+    public int getTopEpicId(int rank) {
+        Objects.checkIndex(rank, topCount);
+        return topEpicIds[rank];
+    }
+
+    public int getTopEpicSize(int rank) {
+        Objects.checkIndex(rank, topCount);
+        return topEpicSizes[rank];
+    }
+
+    boolean contains(int id) {
+        return id > 0 && id < types.length && types[id] != ABSENT;
+    }
+
+    // null, если задачи нет
+    TaskStatus status(int id) {
+        return contains(id) ? STATUSES[statuses[id]] : null;
+    }
+
+    // 0, если задача не подзадача или не привязана к эпику
+    int epicOf(int id) {
+        return contains(id) ? epicOf[id] : 0;
+    }
+
+    private boolean isEpic(int id) {
+        return contains(id) && TYPES[types[id] - 1] == TaskType.EPIC;
+    }
+
+    void added(TaskType type, Task task) {
+        int id = task.getId();
+        ensureCapacity(id);
+        types[id] = (byte) (type.ordinal() + 1);
+        statuses[id] = (byte) task.getStatus().ordinal();
+        epicOf[id] = 0;
+        epicDone[id] = 0;
+        epicTotal[id] = 0;
+        count(id, 1);
+        if (type == TaskType.EPIC) {
+            bySize.add(id);
+            refreshTop();
+        }
+    }
+
+    void linked(int subtaskId, int epicId) {
+        if (!contains(subtaskId) || !isEpic(epicId) || epicOf[subtaskId] != 0) return;
+        epicOf[subtaskId] = epicId;
+        resize(epicId, 1);
+        if (statuses[subtaskId] == TaskStatus.DONE.ordinal()) epicDone[epicId]++;
+    }
+
+    void updated(Task task) {
+        int id = task.getId();
+        if (!contains(id) || statuses[id] == task.getStatus().ordinal()) return;
+        count(id, -1);
+        int epicId = epicOf[id];
+        if (epicId != 0) {
+            if (statuses[id] == TaskStatus.DONE.ordinal()) epicDone[epicId]--;
+            if (task.getStatus() == TaskStatus.DONE) epicDone[epicId]++;
+        }
+        statuses[id] = (byte) task.getStatus().ordinal();
+        count(id, 1);
+    }
+
+    void removed(int id) {
+        if (!contains(id)) return;
+        count(id, -1);
+        int epicId = epicOf[id];
+        if (epicId != 0 && isEpic(epicId)) {
+            if (statuses[id] == TaskStatus.DONE.ordinal()) epicDone[epicId]--;
+            resize(epicId, -1);
+        }
+        if (isEpic(id)) {
+            bySize.remove(id);
+            refreshTop();
+        }
+        types[id] = ABSENT;
+        epicOf[id] = 0;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < types.length) return;
+        int capacity = Math.max(types.length * 2, id + 1);
+        types = Arrays.copyOf(types, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epicOf = Arrays.copyOf(epicOf, capacity);
+        epicDone = Arrays.copyOf(epicDone, capacity);
+        epicTotal = Arrays.copyOf(epicTotal, capacity);
+    }
+
+    private void count(int id, int delta) {
+        counts[types[id] - 1][statuses[id]] += delta;
+        totals[types[id] - 1] += delta;
+    }
+
+    private void resize(int epicId, int delta) {
+        bySize.remove(epicId);
+        epicTotal[epicId] += delta;
+        bySize.add(epicId);
+        refreshTop();
+    }
+
+    private void refreshTop() {
+        topCount = 0;
+        for (int epicId : bySize) {
+            if (topCount == topEpicIds.length) break;
+            topEpicIds[topCount] = epicId;
+            topEpicSizes[topCount] = epicTotal[epicId];
+            topCount++;
+        }
+    }
+}
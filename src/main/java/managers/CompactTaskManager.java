@@ -0,0 +1,514 @@
+package managers;
+
+import managers.task.*;
+
+import java.util.*;
+
+// Хранит задачи в параллельных массивах примитивов (индекс = id), тексты — в общем пуле строк.
+// Наружу отдаются лёгкие представления Task/Epic/Subtask, которые читают и пишут прямо в массивы.
+// Ограничение: id не переиспользуются, а массивы растут до наибольшего выданного id (около 30 байт на id),
+// поэтому память пропорциональна числу когда-либо созданных задач, а не живых. При частых удалениях
+// выигрыш по сравнению с InMemoryTaskManager уменьшается.
+public class CompactTaskManager extends TaskManager {
+    private static final byte EMPTY = 0;
+    private static final byte TASK = 1;
+    private static final byte EPIC = 2;
+    private static final byte SUBTASK = 3;
+    private static final int NO_ID = 0;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private byte[] kinds = new byte[16];
+    private byte[] statuses = new byte[16];
+    private int[] epicIds = new int[16];
+    private int[] titles = new int[16];
+    private int[] descriptions = new int[16];
+    // подзадачи эпика — двусвязный список по индексам
+    private int[] firstSubtask = new int[16];
+    private int[] lastSubtask = new int[16];
+    private int[] nextSubtask = new int[16];
+    private int[] prevSubtask = new int[16];
+
+    private final StringPool strings = new StringPool();
+    private final HistoryManager historyManager = Managers.getDefaultHistory();
+
+    private int allocate(byte kind, Task task) {
+        int id = nextId++;
+        ensureCapacity(id);
+        task.setId(id);
+        kinds[id] = kind;
+        statuses[id] = (byte) task.getStatus().ordinal();
+        titles[id] = strings.acquire(task.getTitle());
+        descriptions[id] = strings.acquire(task.getDescription());
+        return id;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < kinds.length) return;
+        int capacity = Math.max(kinds.length * 2, id + 1);
+        kinds = Arrays.copyOf(kinds, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epicIds = Arrays.copyOf(epicIds, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        firstSubtask = Arrays.copyOf(firstSubtask, capacity);
+        lastSubtask = Arrays.copyOf(lastSubtask, capacity);
+        nextSubtask = Arrays.copyOf(nextSubtask, capacity);
+        prevSubtask = Arrays.copyOf(prevSubtask, capacity);
+    }
+
+    private boolean is(int id, byte kind) {
+        return id > 0 && id < nextId && kinds[id] == kind;
+    }
+
+    private void free(int id) {
+        kinds[id] = EMPTY;
+        strings.release(titles[id]);
+        strings.release(descriptions[id]);
+        titles[id] = StringPool.NULL_REF;
+        descriptions[id] = StringPool.NULL_REF;
+        historyManager.remove(id);
+    }
+
+    private String title(int id) {
+        return strings.get(titles[id]);
+    }
+
+    private void setTitle(int id, String title) {
+        int ref = strings.acquire(title);
+        strings.release(titles[id]);
+        titles[id] = ref;
+    }
+
+    private String description(int id) {
+        return strings.get(descriptions[id]);
+    }
+
+    private void setDescription(int id, String description) {
+        int ref = strings.acquire(description);
+        strings.release(descriptions[id]);
+        descriptions[id] = ref;
+    }
+
+    private TaskStatus status(int id) {
+        return STATUSES[statuses[id]];
+    }
+
+    private void setStatus(int id, TaskStatus status) {
+        statuses[id] = (byte) status.ordinal();
+    }
+
+    private void link(int subtaskId, int epicId) {
+        int tail = lastSubtask[epicId];
+        epicIds[subtaskId] = epicId;
+        prevSubtask[subtaskId] = tail;
+        nextSubtask[subtaskId] = NO_ID;
+        if (tail != NO_ID) {
+            nextSubtask[tail] = subtaskId;
+        } else {
+            firstSubtask[epicId] = subtaskId;
+        }
+        lastSubtask[epicId] = subtaskId;
+    }
+
+    private boolean isLinked(int subtaskId) {
+        int epicId = epicIds[subtaskId];
+        return is(epicId, EPIC)
+                && (firstSubtask[epicId] == subtaskId || prevSubtask[subtaskId] != NO_ID);
+    }
+
+    private void unlink(int subtaskId) {
+        if (!isLinked(subtaskId)) return;
+        int prev = prevSubtask[subtaskId];
+        int next = nextSubtask[subtaskId];
+        if (prev != NO_ID) {
+            nextSubtask[prev] = next;
+        } else {
+            firstSubtask[epicIds[subtaskId]] = next;
+        }
+        if (next != NO_ID) {
+            prevSubtask[next] = prev;
+        } else {
+            lastSubtask[epicIds[subtaskId]] = prev;
+        }
+        prevSubtask[subtaskId] = NO_ID;
+        nextSubtask[subtaskId] = NO_ID;
+    }
+
+    private void refreshEpicStatus(int epicId) {
+        int id = firstSubtask[epicId];
+        if (id == NO_ID) {
+            setStatus(epicId, TaskStatus.NEW);
+            return;
+        }
+
+        boolean allNew = true;
+        boolean allDone = true;
+        for (; id != NO_ID; id = nextSubtask[id]) {
+            TaskStatus status = status(id);
+            if (status != TaskStatus.NEW) allNew = false;
+            if (status != TaskStatus.DONE) allDone = false;
+        }
+
+        if (allDone) {
+            setStatus(epicId, TaskStatus.DONE);
+        } else if (allNew) {
+            setStatus(epicId, TaskStatus.NEW);
+        } else {
+            setStatus(epicId, TaskStatus.IN_PROGRESS);
+        }
+    }
+
+    private List<Subtask> subtasksOf(int epicId) {
+        List<Subtask> result = new ArrayList<>();
+        for (int id = firstSubtask[epicId]; id != NO_ID; id = nextSubtask[id]) {
+            result.add(new SubtaskView(id));
+        }
+        return result;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        allocate(TASK, task);
+    }
+
+    @Override
+    public void addEpic(Epic epic) {
+        int id = allocate(EPIC, epic);
+        firstSubtask[id] = NO_ID;
+        lastSubtask[id] = NO_ID;
+        setStatus(id, TaskStatus.NEW);
+    }
+
+    @Override
+    public void addSubtask(Subtask subtask) {
+        int id = allocate(SUBTASK, subtask);
+        epicIds[id] = subtask.getEpicId();
+        prevSubtask[id] = NO_ID;
+        nextSubtask[id] = NO_ID;
+        if (is(subtask.getEpicId(), EPIC)) {
+            link(id, subtask.getEpicId());
+            refreshEpicStatus(subtask.getEpicId());
+        }
+    }
+
+    @Override
+    public void updateTask(Task updatedTask) {
+        int id = updatedTask.getId();
+        if (is(id, TASK)) {
+            setTitle(id, updatedTask.getTitle());
+            setDescription(id, updatedTask.getDescription());
+            setStatus(id, updatedTask.getStatus());
+        }
+    }
+
+    @Override
+    public void updateEpic(Epic updatedEpic) {
+        int id = updatedEpic.getId();
+        if (is(id, EPIC)) {
+            setTitle(id, updatedEpic.getTitle());
+            setDescription(id, updatedEpic.getDescription());
+            refreshEpicStatus(id);
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask updatedSubtask) {
+        int id = updatedSubtask.getId();
+        if (is(id, SUBTASK)) {
+            setTitle(id, updatedSubtask.getTitle());
+            setDescription(id, updatedSubtask.getDescription());
+            setStatus(id, updatedSubtask.getStatus());
+            if (isLinked(id)) {
+                refreshEpicStatus(epicIds[id]);
+            }
+        }
+    }
+
+    @Override
+    public void removeTaskById(int id) {
+        if (is(id, TASK)) {
+            free(id);
+        }
+    }
+
+    @Override
+    public void removeEpicById(int id) {
+        if (is(id, EPIC)) {
+            int subtaskId = firstSubtask[id];
+            while (subtaskId != NO_ID) {
+                int next = nextSubtask[subtaskId];
+                free(subtaskId);
+                subtaskId = next;
+            }
+            firstSubtask[id] = NO_ID;
+            lastSubtask[id] = NO_ID;
+            free(id);
+        }
+    }
+
+    @Override
+    public void removeSubtaskById(int id) {
+        if (is(id, SUBTASK)) {
+            boolean linked = isLinked(id);
+            unlink(id);
+            free(id);
+            if (linked) {
+                refreshEpicStatus(epicIds[id]);
+            }
+        }
+    }
+
+    @Override
+    public void removeAllTasks() {
+        for (int id = 1; id < nextId; id++) {
+            if (kinds[id] == TASK) {
+                free(id);
+            }
+        }
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        if (!is(id, TASK)) return null;
+        Task task = new TaskView(id);
+        historyManager.add(task);
+        return task;
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        if (!is(id, EPIC)) return null;
+        Epic epic = new EpicView(id);
+        historyManager.add(epic);
+        return epic;
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        if (!is(id, SUBTASK)) return null;
+        Subtask subtask = new SubtaskView(id);
+        historyManager.add(subtask);
+        return subtask;
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        List<Task> result = new ArrayList<>();
+        for (int id = 1; id < nextId; id++) {
+            if (kinds[id] == TASK) result.add(new TaskView(id));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        List<Epic> result = new ArrayList<>();
+        for (int id = 1; id < nextId; id++) {
+            if (kinds[id] == EPIC) result.add(new EpicView(id));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        List<Subtask> result = new ArrayList<>();
+        for (int id = 1; id < nextId; id++) {
+            if (kinds[id] == SUBTASK) result.add(new SubtaskView(id));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Subtask> getSubtasksForEpic(int epicId) {
+        return is(epicId, EPIC) ? subtasksOf(epicId) : Collections.emptyList();
+    }
+
+    @Override
+    public HistoryManager getHistory() {
+        return historyManager;
+    }
+
+    private class TaskView extends Task {
+        TaskView(int id) {
+            super(null, null);
+            this.id = id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title(id);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            CompactTaskManager.this.setTitle(id, title);
+        }
+
+        @Override
+        public String getDescription() {
+            return description(id);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            CompactTaskManager.this.setDescription(id, description);
+        }
+
+        @Override
+        public TaskStatus getStatus() {
+            return status(id);
+        }
+
+        @Override
+        public void setStatus(TaskStatus status) {
+            CompactTaskManager.this.setStatus(id, status);
+        }
+    }
+
+    private class SubtaskView extends Subtask {
+        SubtaskView(int id) {
+            super(null, null, NO_ID);
+            this.id = id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title(id);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            CompactTaskManager.this.setTitle(id, title);
+        }
+
+        @Override
+        public String getDescription() {
+            return description(id);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            CompactTaskManager.this.setDescription(id, description);
+        }
+
+        @Override
+        public TaskStatus getStatus() {
+            return status(id);
+        }
+
+        @Override
+        public void setStatus(TaskStatus status) {
+            CompactTaskManager.this.setStatus(id, status);
+        }
+
+        @Override
+        public int getEpicId() {
+            return epicIds[id];
+        }
+
+        @Override
+        public void setEpicId(int epicId) {
+            if (epicIds[id] == epicId && isLinked(id)) return;
+            unlink(id);
+            epicIds[id] = epicId;
+            if (is(epicId, EPIC)) link(id, epicId);
+        }
+    }
+
+    private class EpicView extends Epic {
+        EpicView(int id) {
+            super(null, null);
+            this.id = id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title(id);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            CompactTaskManager.this.setTitle(id, title);
+        }
+
+        @Override
+        public String getDescription() {
+            return description(id);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            CompactTaskManager.this.setDescription(id, description);
+        }
+
+        @Override
+        public TaskStatus getStatus() {
+            return status(id);
+        }
+
+        @Override
+        public void setStatus(TaskStatus status) {
+            CompactTaskManager.this.setStatus(id, status);
+        }
+
+        @Override
+        public List<Subtask> getSubTasks() {
+            return subtasksOf(id);
+        }
+
+        // связывать можно только подзадачи, которые уже лежат в этом менеджере
+        @Override
+        public boolean addSubTask(Subtask subtask) {
+            if (!attach(subtask.getId())) return false;
+            refreshEpicStatus(id);
+            return true;
+        }
+
+        @Override
+        public void addSubTasks(Collection<Subtask> newSubtasks) {
+            for (Subtask subtask : newSubtasks) {
+                attach(subtask.getId());
+            }
+            refreshEpicStatus(id);
+        }
+
+        private boolean attach(int subtaskId) {
+            if (!is(subtaskId, SUBTASK) || (epicIds[subtaskId] == id && isLinked(subtaskId))) {
+                return false;
+            }
+            unlink(subtaskId);
+            link(subtaskId, id);
+            return true;
+        }
+
+        @Override
+        public boolean removeSubtask(Subtask subtask) {
+            int subtaskId = subtask.getId();
+            if (!is(subtaskId, SUBTASK) || epicIds[subtaskId] != id || !isLinked(subtaskId)) {
+                return false;
+            }
+            unlink(subtaskId);
+            refreshEpicStatus(id);
+            return true;
+        }
+
+        @Override
+        public void clearSubtask() {
+            int subtaskId = firstSubtask[id];
+            while (subtaskId != NO_ID) {
+                int next = nextSubtask[subtaskId];
+                prevSubtask[subtaskId] = NO_ID;
+                nextSubtask[subtaskId] = NO_ID;
+                subtaskId = next;
+            }
+            firstSubtask[id] = NO_ID;
+            lastSubtask[id] = NO_ID;
+            refreshEpicStatus(id);
+        }
+
+        @Override
+        public void updateEpicStatus() {
+            refreshEpicStatus(id);
+        }
+    }
+}
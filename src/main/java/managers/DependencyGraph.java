@@ -0,0 +1,205 @@
+package managers;
+
+import managers.task.TaskStatus;
+
+import java.util.*;
+
+// Граф "B заблокирована A" для задач любого типа. Кроме явных рёбер учитывается встроенное правило:
+// эпик не может быть DONE, пока не завершены его подзадачи, то есть подзадача неявно блокирует свой эпик.
+// Статус и эпик задачи читаются из BoardStats; узел заводится только у задач, у которых есть рёбра,
+// и хранит число незавершённых блокирующих, поэтому смена статуса затрагивает только прямых зависимых.
+// Готовые к работе задачи связаны в список по индексам (id), чтение идёт за O(результата).
+public class DependencyGraph {
+    private static final int NO_ID = 0;
+
+    private final BoardStats stats;
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private int[] readyNext = new int[16];
+    private int[] readyPrev = new int[16];
+    private int readyHead = NO_ID;
+    private int readyTail = NO_ID;
+    private int readyCount;
+
+    private static class Node {
+        int openBlockers;
+        final Set<Integer> blockers = new HashSet<>();
+        final Set<Integer> dependents = new HashSet<>();
+
+        boolean isIsolated() {
+            return blockers.isEmpty() && dependents.isEmpty();
+        }
+    }
+
+    DependencyGraph(BoardStats stats) {
+        this.stats = stats;
+    }
+
+    public boolean isReady(int id) {
+        return inReady(id);
+    }
+
+    public int getOpenBlockers(int id) {
+        Node node = nodes.get(id);
+        return node != null ? node.openBlockers : 0;
+    }
+
+    public Set<Integer> getBlockers(int id) {
+        Node node = nodes.get(id);
+        return node != null ? Collections.unmodifiableSet(node.blockers) : Set.of();
+    }
+
+    // готовы к старту задачи в статусе NEW без незавершённых блокирующих, в порядке готовности
+    int[] readyIds() {
+        int[] result = new int[readyCount];
+        int i = 0;
+        for (int id = readyHead; id != NO_ID; id = readyNext[id]) {
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    // все хуки вызываются после того, как BoardStats уже учёл изменение
+    void added(int id) {
+        refreshReady(id);
+    }
+
+    void updated(int id, TaskStatus oldStatus) {
+        TaskStatus status = stats.status(id);
+        if (status == oldStatus) return;
+        Node node = nodes.get(id);
+        boolean wasOpen = oldStatus != TaskStatus.DONE;
+        boolean isOpen = status != TaskStatus.DONE;
+        if (node != null && wasOpen != isOpen) {
+            int delta = isOpen ? 1 : -1;
+            for (int dependentId : node.dependents) {
+                nodes.get(dependentId).openBlockers += delta;
+                refreshReady(dependentId);
+            }
+        }
+        refreshReady(id);
+    }
+
+    void removed(int id, TaskStatus oldStatus) {
+        unlinkReady(id);
+        Node node = nodes.remove(id);
+        if (node == null) return;
+        for (int dependentId : node.dependents) {
+            Node dependent = nodes.get(dependentId);
+            dependent.blockers.remove(id);
+            if (oldStatus != TaskStatus.DONE) dependent.openBlockers--;
+            releaseIfIsolated(dependentId, dependent);
+            refreshReady(dependentId);
+        }
+        for (int blockerId : node.blockers) {
+            Node blocker = nodes.get(blockerId);
+            blocker.dependents.remove(id);
+            releaseIfIsolated(blockerId, blocker);
+        }
+    }
+
+    void addDependency(int blockerId, int dependentId) {
+        if (!stats.contains(blockerId) || !stats.contains(dependentId)) {
+            throw new IllegalArgumentException("Task not found");
+        }
+        if (blockerId == dependentId || reachable(dependentId, blockerId)) {
+            throw new IllegalArgumentException("Dependency " + blockerId + " -> " + dependentId + " creates a cycle");
+        }
+        Node blocker = nodes.computeIfAbsent(blockerId, id -> new Node());
+        if (!blocker.dependents.add(dependentId)) return;
+        Node dependent = nodes.computeIfAbsent(dependentId, id -> new Node());
+        dependent.blockers.add(blockerId);
+        if (stats.status(blockerId) != TaskStatus.DONE) {
+            dependent.openBlockers++;
+            refreshReady(dependentId);
+        }
+    }
+
+    void removeDependency(int blockerId, int dependentId) {
+        Node blocker = nodes.get(blockerId);
+        if (blocker == null || !blocker.dependents.remove(dependentId)) return;
+        Node dependent = nodes.get(dependentId);
+        dependent.blockers.remove(blockerId);
+        if (stats.status(blockerId) != TaskStatus.DONE) dependent.openBlockers--;
+        releaseIfIsolated(blockerId, blocker);
+        releaseIfIsolated(dependentId, dependent);
+        refreshReady(dependentId);
+    }
+
+    private void releaseIfIsolated(int id, Node node) {
+        if (node.isIsolated()) nodes.remove(id);
+    }
+
+    private void refreshReady(int id) {
+        Node node = nodes.get(id);
+        if (stats.status(id) == TaskStatus.NEW && (node == null || node.openBlockers == 0)) {
+            linkReady(id);
+        } else {
+            unlinkReady(id);
+        }
+    }
+
+    private boolean inReady(int id) {
+        return id > 0 && id < readyPrev.length && (readyHead == id || readyPrev[id] != NO_ID);
+    }
+
+    private void linkReady(int id) {
+        if (inReady(id)) return;
+        if (id >= readyNext.length) {
+            int capacity = Math.max(readyNext.length * 2, id + 1);
+            readyNext = Arrays.copyOf(readyNext, capacity);
+            readyPrev = Arrays.copyOf(readyPrev, capacity);
+        }
+        readyPrev[id] = readyTail;
+        readyNext[id] = NO_ID;
+        if (readyTail != NO_ID) {
+            readyNext[readyTail] = id;
+        } else {
+            readyHead = id;
+        }
+        readyTail = id;
+        readyCount++;
+    }
+
+    private void unlinkReady(int id) {
+        if (!inReady(id)) return;
+        int prev = readyPrev[id];
+        int next = readyNext[id];
+        if (prev != NO_ID) {
+            readyNext[prev] = next;
+        } else {
+            readyHead = next;
+        }
+        if (next != NO_ID) {
+            readyPrev[next] = prev;
+        } else {
+            readyTail = prev;
+        }
+        readyPrev[id] = NO_ID;
+        readyNext[id] = NO_ID;
+        readyCount--;
+    }
+
+    // обход от from по рёбрам к зависимым, включая неявное ребро подзадача -> эпик:
+    // цикл появится, если так можно дойти до target
+    private boolean reachable(int from, int target) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        Set<Integer> visited = new HashSet<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            int id = stack.pop();
+            if (id == target) return true;
+            if (!visited.add(id)) continue;
+            int epicId = stats.epicOf(id);
+            if (epicId != NO_ID && stats.contains(epicId)) {
+                stack.push(epicId);
+            }
+            Node node = nodes.get(id);
+            if (node != null) {
+                for (int next : node.dependents) {
+                    stack.push(next);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -11,4 +11,6 @@ public interface HistoryManager {
     void remove(int id); // добавили метод
 
     List<Task> getHistory();
+
+    List<Task> getMostViewed(int k);
 }
\ No newline at end of file
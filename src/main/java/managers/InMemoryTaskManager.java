@@ -9,15 +9,187 @@ public class InMemoryTaskManager extends TaskManager {
     private final Map<Integer, Subtask> subtasks = new HashMap<>();
     private int nextId = 1;
     private final HistoryManager historyManager = Managers.getDefaultHistory();
+    private final BoardStats stats = new BoardStats(10);
+    private final DependencyGraph dependencies = new DependencyGraph(stats);
+    private final DescriptionArena descriptionArena;
+    private final List<MutationListener> listeners = new ArrayList<>();
+
+    public InMemoryTaskManager() {
+        this(null);
+    }
+
+    // с arena описания задач хранятся вне кучи и декодируются при getDescription()
+    public InMemoryTaskManager(DescriptionArena descriptionArena) {
+        this.descriptionArena = descriptionArena;
+    }
 
     private int generateId() {
         return nextId++;
     }
 
+    private void storeDescription(Task task) {
+        if (descriptionArena != null) {
+            task.moveDescriptionTo(descriptionArena);
+        }
+    }
+
+    private void onAdded(TaskType type, Task task) {
+        stats.added(type, task);
+        dependencies.added(task.getId());
+    }
+
+    private void onLinked(int subtaskId, int epicId) {
+        stats.linked(subtaskId, epicId);
+    }
+
+    private void onUpdated(Task task) {
+        TaskStatus oldStatus = stats.status(task.getId());
+        stats.updated(task);
+        dependencies.updated(task.getId(), oldStatus);
+    }
+
+    private void onRemoved(int id) {
+        TaskStatus oldStatus = stats.status(id);
+        stats.removed(id);
+        dependencies.removed(id, oldStatus);
+    }
+
+    private Task findAny(int id) {
+        Task task = tasks.get(id);
+        if (task == null) task = epics.get(id);
+        if (task == null) task = subtasks.get(id);
+        return task;
+    }
+
+    // слушатели получают изменения синхронно, в порядке их применения
+    public void addMutationListener(MutationListener listener) {
+        listeners.add(listener);
+    }
+
+    private void publish(Task task) {
+        if (listeners.isEmpty()) return;
+        Mutation mutation = Mutation.upsert(TaskRecord.of(task));
+        for (MutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    private void publishRemoval(int id) {
+        if (listeners.isEmpty()) return;
+        Mutation mutation = Mutation.removal(id);
+        for (MutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    // применяет изменение с исходным id — для восстановления из журнала и реплик
+    void apply(Mutation mutation) {
+        int id = mutation.id();
+        nextId = Math.max(nextId, id + 1); // удалённые id тоже не выдаём повторно
+        if (mutation.isRemoval()) {
+            if (tasks.containsKey(id)) {
+                removeTaskById(id);
+            } else if (epics.containsKey(id)) {
+                removeEpicById(id);
+            } else {
+                removeSubtaskById(id);
+            }
+            return;
+        }
+
+        TaskRecord state = mutation.state();
+        switch (state.type()) {
+            case TASK -> {
+                if (tasks.containsKey(id)) {
+                    updateTask(state.toTask());
+                } else {
+                    putTask(state.toTask());
+                }
+            }
+            case EPIC -> {
+                if (epics.containsKey(id)) {
+                    updateEpic((Epic) state.toTask());
+                } else {
+                    putEpic((Epic) state.toTask());
+                }
+            }
+            case SUBTASK -> {
+                if (subtasks.containsKey(id)) {
+                    updateSubtask((Subtask) state.toTask());
+                } else {
+                    putSubtask((Subtask) state.toTask());
+                }
+            }
+        }
+    }
+
+    int peekNextId() {
+        return nextId;
+    }
+
+    boolean isEmpty() {
+        return tasks.isEmpty() && epics.isEmpty() && subtasks.isEmpty();
+    }
+
+    // массовая загрузка: кладём задачу как есть, связи и счётчики строит rebuildIndexes
+    void restore(Task task) {
+        storeDescription(task);
+        if (task instanceof Subtask subtask) {
+            subtasks.put(subtask.getId(), subtask);
+        } else if (task instanceof Epic epic) {
+            epics.put(epic.getId(), epic);
+        } else {
+            tasks.put(task.getId(), task);
+        }
+    }
+
+    void rebuildIndexes(int restoredNextId, int[] historyIds) {
+        nextId = Math.max(nextId, restoredNextId);
+
+        Map<Integer, List<Subtask>> byEpic = new HashMap<>();
+        for (Subtask subtask : subtasks.values()) {
+            nextId = Math.max(nextId, subtask.getId() + 1);
+            if (epics.containsKey(subtask.getEpicId())) {
+                byEpic.computeIfAbsent(subtask.getEpicId(), id -> new ArrayList<>()).add(subtask);
+            }
+        }
+        // id только растут, поэтому порядок по id — это порядок добавления подзадач в эпик
+        for (List<Subtask> list : byEpic.values()) {
+            list.sort(Comparator.comparingInt(Subtask::getId));
+        }
+        for (Epic epic : epics.values()) {
+            nextId = Math.max(nextId, epic.getId() + 1);
+            epic.addSubTasks(byEpic.getOrDefault(epic.getId(), Collections.emptyList()));
+            onAdded(TaskType.EPIC, epic);
+        }
+        for (Task task : tasks.values()) {
+            nextId = Math.max(nextId, task.getId() + 1);
+            onAdded(TaskType.TASK, task);
+        }
+        for (Subtask subtask : subtasks.values()) {
+            onAdded(TaskType.SUBTASK, subtask);
+            if (byEpic.containsKey(subtask.getEpicId())) {
+                onLinked(subtask.getId(), subtask.getEpicId());
+            }
+        }
+
+        for (int id : historyIds) {
+            Task task = findAny(id);
+            if (task != null) historyManager.add(task);
+        }
+    }
+
     @Override
     public void addTask(Task task) {
         task.setId(generateId());
+        putTask(task);
+    }
+
+    private void putTask(Task task) {
+        storeDescription(task);
         tasks.put(task.getId(), task);
+        onAdded(TaskType.TASK, task);
+        publish(task);
     }
 
     @Override
@@ -27,16 +199,27 @@ public class InMemoryTaskManager extends TaskManager {
 
     @Override
     public void removeAllTasks() {
-        for (Integer id : tasks.keySet()) {
-            historyManager.remove(id);
+        List<Integer> removed = new ArrayList<>(tasks.keySet());
+        for (Task task : tasks.values()) {
+            historyManager.remove(task.getId());
+            onRemoved(task.getId());
+            task.detachDescription();
         }
         tasks.clear();
+        for (int id : removed) {
+            publishRemoval(id);
+        }
     }
 
     @Override
     public void removeTaskById(int id) {
-        tasks.remove(id);
+        Task task = tasks.remove(id);
         historyManager.remove(id);
+        if (task != null) {
+            onRemoved(id);
+            task.detachDescription();
+            publishRemoval(id);
+        }
     }
 
     @Override
@@ -49,8 +232,15 @@ public class InMemoryTaskManager extends TaskManager {
     @Override
     public void addEpic(Epic epic) {
         epic.setId(generateId());
+        putEpic(epic);
+    }
+
+    private void putEpic(Epic epic) {
+        storeDescription(epic);
         epics.put(epic.getId(), epic);
         updateEpicStatus(epic);
+        onAdded(TaskType.EPIC, epic);
+        publish(epic);
     }
 
     @Override
@@ -69,24 +259,47 @@ public class InMemoryTaskManager extends TaskManager {
     public void removeEpicById(int id) {
         Epic epic = epics.remove(id);
         if (epic != null) {
+            List<Integer> removed = new ArrayList<>();
             for (Subtask subtask : epic.getSubTasks()) {
-                subtasks.remove(subtask.getId());
+                if (subtasks.remove(subtask.getId()) != null) {
+                    onRemoved(subtask.getId());
+                    subtask.detachDescription();
+                    removed.add(subtask.getId());
+                }
                 historyManager.remove(subtask.getId());
             }
+            onRemoved(id);
+            epic.detachDescription();
             historyManager.remove(id);
+            for (int subtaskId : removed) {
+                publishRemoval(subtaskId);
+            }
+            publishRemoval(id);
         }
     }
 
     @Override
     public void addSubtask(Subtask subtask) {
         subtask.setId(generateId());
+        putSubtask(subtask);
+    }
+
+    private void putSubtask(Subtask subtask) {
+        storeDescription(subtask);
         subtasks.put(subtask.getId(), subtask);
+        onAdded(TaskType.SUBTASK, subtask);
 
         Epic epic = epics.get(subtask.getEpicId());
         if (epic != null) {
-            epic.addSubTask(subtask);
+            if (epic.addSubTask(subtask)) {
+                onLinked(subtask.getId(), epic.getId());
+            }
             updateEpicStatus(epic);
+            onUpdated(epic);
         }
+        // слушатели узнают об изменении только после того, как доска полностью его применила
+        publish(subtask);
+        if (epic != null) publish(epic);
     }
 
     @Override
@@ -105,12 +318,17 @@ public class InMemoryTaskManager extends TaskManager {
     public void removeSubtaskById(int id) {
         Subtask subtask = subtasks.remove(id);
         if (subtask != null) {
+            onRemoved(id);
+            subtask.detachDescription();
             Epic epic = epics.get(subtask.getEpicId());
             if (epic != null) {
                 epic.removeSubtask(subtask);
                 updateEpicStatus(epic);
+                onUpdated(epic);
             }
             historyManager.remove(id);
+            publishRemoval(id);
+            if (epic != null) publish(epic);
         }
     }
 
@@ -127,6 +345,8 @@ public class InMemoryTaskManager extends TaskManager {
             task.setTitle(updatedTask.getTitle());
             task.setDescription(updatedTask.getDescription());
             task.setStatus(updatedTask.getStatus());
+            onUpdated(task);
+            publish(task);
         }
     }
 
@@ -137,6 +357,8 @@ public class InMemoryTaskManager extends TaskManager {
             epic.setTitle(updatedEpic.getTitle());
             epic.setDescription(updatedEpic.getDescription());
             updateEpicStatus(epic); // ✅ ключевая строка
+            onUpdated(epic);
+            publish(epic);
         }
     }
 
@@ -147,11 +369,15 @@ public class InMemoryTaskManager extends TaskManager {
             subtask.setTitle(updatedSubtask.getTitle());
             subtask.setDescription(updatedSubtask.getDescription());
             subtask.setStatus(updatedSubtask.getStatus());
+            onUpdated(subtask);
 
             Epic epic = epics.get(subtask.getEpicId());
             if (epic != null) {
                 updateEpicStatus(epic);
+                onUpdated(epic);
             }
+            publish(subtask);
+            if (epic != null) publish(epic);
         }
     }
 
@@ -181,6 +407,32 @@ public class InMemoryTaskManager extends TaskManager {
         }
     }
 
+    // blockerId должна быть в статусе DONE, прежде чем dependentId станет готовой к работе
+    public void addDependency(int blockerId, int dependentId) {
+        dependencies.addDependency(blockerId, dependentId);
+    }
+
+    public void removeDependency(int blockerId, int dependentId) {
+        dependencies.removeDependency(blockerId, dependentId);
+    }
+
+    public List<Task> getReadyTasks() {
+        List<Task> result = new ArrayList<>();
+        for (int id : dependencies.readyIds()) {
+            result.add(findAny(id));
+        }
+        return result;
+    }
+
+    public DependencyGraph getDependencies() {
+        return dependencies;
+    }
+
+    // счётчики поддерживаются при каждом изменении, чтение не требует обхода задач
+    public BoardStats getBoardStats() {
+        return stats;
+    }
+
     @Override
     public HistoryManager getHistory() {
         return historyManager;
@@ -0,0 +1,80 @@
+package managers;
+
+import managers.task.TaskStatus;
+import managers.task.TaskType;
+
+// Одно изменение доски: новое состояние задачи или её удаление (state == null)
+public record Mutation(int id, TaskRecord state) {
+    private static final String REMOVED = "REMOVED";
+    private static final String NULL = "\\0";
+
+    public static Mutation upsert(TaskRecord state) {
+        return new Mutation(state.id(), state);
+    }
+
+    public static Mutation removal(int id) {
+        return new Mutation(id, null);
+    }
+
+    public boolean isRemoval() {
+        return state == null;
+    }
+
+    // id,TYPE,title,status,description,epicId  или  id,REMOVED
+    public String encode() {
+        if (isRemoval()) {
+            return id + "," + REMOVED;
+        }
+        return id + "," + state.type() + "," + escape(state.title()) + "," + state.status() + ","
+                + escape(state.description()) + "," + state.epicId();
+    }
+
+    public static Mutation decode(String line) {
+        String[] fields = line.split(",", -1);
+        int id = Integer.parseInt(fields[0]);
+        if (fields.length == 2 && REMOVED.equals(fields[1])) {
+            return removal(id);
+        }
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Malformed mutation: " + line);
+        }
+        return upsert(new TaskRecord(TaskType.valueOf(fields[1]), id, unescape(fields[2]),
+                unescape(fields[4]), TaskStatus.valueOf(fields[3]), Integer.parseInt(fields[5])));
+    }
+
+    private static String escape(String value) {
+        if (value == null) return NULL;
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case ',' -> sb.append("\\c");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String value) {
+        if (NULL.equals(value)) return null;
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 'c' -> sb.append(',');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                default -> sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+}
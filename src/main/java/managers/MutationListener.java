@@ -0,0 +1,6 @@
+package managers;
+
+public interface MutationListener {
+
+    void onMutation(Mutation mutation);
+}
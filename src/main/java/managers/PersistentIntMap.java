@@ -0,0 +1,192 @@
+package managers;
+
+import java.util.Objects;
+
+// Неизменяемое отображение int -> V на hash trie (32 ветви, 5 бит ключа на уровень).
+// put/remove копируют только путь от корня до листа, остальная структура общая с прежней версией.
+final class PersistentIntMap<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+    private final Object root; // null, Leaf или Node
+    private final int size;
+
+    private static final class Leaf {
+        final int key;
+        final Object value;
+
+        Leaf(int key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+        final int bitmap;
+        final Object[] slots;
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    interface EntryVisitor<V> {
+        void visit(int key, V value);
+    }
+
+    interface DiffVisitor<V> {
+        // before == null — ключ добавлен, after == null — ключ удалён
+        void changed(int key, V before, V after);
+    }
+
+    private PersistentIntMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        return (V) find(root, 0, key);
+    }
+
+    PersistentIntMap<V> put(int key, V value) {
+        Objects.requireNonNull(value);
+        V existing = get(key);
+        if (existing == value) return this;
+        return new PersistentIntMap<>(put(root, 0, key, value), existing == null ? size + 1 : size);
+    }
+
+    PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) return this;
+        return new PersistentIntMap<>(remove(root, 0, key), size - 1);
+    }
+
+    void forEach(EntryVisitor<V> visitor) {
+        forEach(root, visitor);
+    }
+
+    // обходит только различающиеся поддеревья: общие узлы двух версий пропускаются по ссылке
+    static <V> void diff(PersistentIntMap<V> before, PersistentIntMap<V> after, DiffVisitor<V> visitor) {
+        diff(before.root, after.root, 0, visitor);
+    }
+
+    private static int bit(int key, int shift) {
+        return 1 << ((key >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private static Object find(Object current, int shift, int key) {
+        while (current instanceof Node node) {
+            int bit = bit(key, shift);
+            if ((node.bitmap & bit) == 0) return null;
+            current = node.slots[index(node.bitmap, bit)];
+            shift += BITS;
+        }
+        if (current instanceof Leaf leaf && leaf.key == key) {
+            return leaf.value;
+        }
+        return null;
+    }
+
+    private static Object put(Object current, int shift, int key, Object value) {
+        if (current == null) {
+            return new Leaf(key, value);
+        }
+        if (current instanceof Leaf leaf) {
+            if (leaf.key == key) {
+                return new Leaf(key, value);
+            }
+            Node split = new Node(bit(leaf.key, shift), new Object[]{leaf});
+            return put(split, shift, key, value);
+        }
+
+        Node node = (Node) current;
+        int bit = bit(key, shift);
+        int i = index(node.bitmap, bit);
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, i);
+            slots[i] = new Leaf(key, value);
+            System.arraycopy(node.slots, i, slots, i + 1, node.slots.length - i);
+            return new Node(node.bitmap | bit, slots);
+        }
+        Object[] slots = node.slots.clone();
+        slots[i] = put(slots[i], shift + BITS, key, value);
+        return new Node(node.bitmap, slots);
+    }
+
+    // узел с единственным листом схлопывается в этот лист, чтобы структура оставалась канонической
+    private static Object remove(Object current, int shift, int key) {
+        if (current instanceof Leaf) {
+            return null;
+        }
+
+        Node node = (Node) current;
+        int bit = bit(key, shift);
+        int i = index(node.bitmap, bit);
+        Object child = remove(node.slots[i], shift + BITS, key);
+        if (child != null) {
+            if (node.slots.length == 1 && child instanceof Leaf) return child;
+            Object[] slots = node.slots.clone();
+            slots[i] = child;
+            return new Node(node.bitmap, slots);
+        }
+
+        if (node.slots.length == 1) return null;
+        Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, i);
+        System.arraycopy(node.slots, i + 1, slots, i, slots.length - i);
+        if (slots.length == 1 && slots[0] instanceof Leaf) return slots[0];
+        return new Node(node.bitmap & ~bit, slots);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Object current, EntryVisitor<V> visitor) {
+        if (current instanceof Leaf leaf) {
+            visitor.visit(leaf.key, (V) leaf.value);
+        } else if (current instanceof Node node) {
+            for (Object slot : node.slots) {
+                forEach(slot, visitor);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void diff(Object before, Object after, int shift, DiffVisitor<V> visitor) {
+        if (before == after) return;
+        if (before instanceof Node a && after instanceof Node b) {
+            int bits = a.bitmap | b.bitmap;
+            while (bits != 0) {
+                int bit = Integer.lowestOneBit(bits);
+                bits &= ~bit;
+                Object left = (a.bitmap & bit) != 0 ? a.slots[index(a.bitmap, bit)] : null;
+                Object right = (b.bitmap & bit) != 0 ? b.slots[index(b.bitmap, bit)] : null;
+                diff(left, right, shift + BITS, visitor);
+            }
+            return;
+        }
+
+        // хотя бы одна сторона — лист или пусто: сравниваем поэлементно, это не дороже самих изменений
+        PersistentIntMap.<V>forEach(after, (key, value) -> {
+            V old = (V) find(before, shift, key);
+            if (!Objects.equals(old, value)) visitor.changed(key, old, value);
+        });
+        PersistentIntMap.<V>forEach(before, (key, value) -> {
+            if (find(after, shift, key) == null) visitor.changed(key, value, null);
+        });
+    }
+}
@@ -0,0 +1,340 @@
+package managers;
+
+import managers.task.*;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Реплика только для чтения: получает журнал от ReplicationPrimary и асинхронно применяет его.
+// При обрыве соединения переподключается и заново загружает снимок; до подмены читатели видят прежние данные.
+public class ReplicaTaskManager extends TaskManager implements Closeable {
+    private static final long RECONNECT_DELAY_MILLIS = 500;
+    // служебная запись: начинается новое соединение, дальше идёт снимок
+    private static final Entry RESET = new Entry(-1, 0, null);
+
+    private final String host;
+    private final int port;
+    private final Object lock = new Object();
+    private final BlockingQueue<Entry> received = new LinkedBlockingQueue<>();
+    private final HistoryManager history = new ReplicaHistory();
+    private final Thread reader;
+    private final Thread applier;
+    private InMemoryTaskManager manager = new InMemoryTaskManager(); // под lock
+    private volatile Socket socket;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile long appliedSequence = -1; // -1 — первый снимок ещё не загружен
+
+    // mutation == null — отметка позиции в журнале без изменения
+    private record Entry(long sequence, long timestamp, Mutation mutation) {
+    }
+
+    public ReplicaTaskManager(String host, int port) {
+        this.host = host;
+        this.port = port;
+        try {
+            socket = new Socket(host, port);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot connect to " + host + ":" + port, e);
+        }
+        connected = true;
+        reader = new Thread(this::readLoop, "replica-reader-" + socket.getLocalPort());
+        applier = new Thread(this::applyLoop, "replica-applier-" + socket.getLocalPort());
+        reader.setDaemon(true);
+        applier.setDaemon(true);
+        reader.start();
+        applier.start();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    // -1 — реплика отключена от primary и отставание неизвестно
+    public int getLagEntries() {
+        return connected ? received.size() : -1;
+    }
+
+    // время, которое самое старое неприменённое изменение провело в пути; часы primary и реплики сравниваются напрямую.
+    // -1 — реплика отключена от primary и отставание неизвестно
+    public long getLagMillis() {
+        if (!connected) return -1;
+        Entry oldest = received.peek();
+        return oldest == null || oldest == RESET ? 0 : Math.max(0, System.currentTimeMillis() - oldest.timestamp());
+    }
+
+    public boolean awaitSequence(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (appliedSequence < sequence) {
+            if (System.nanoTime() >= deadline) return false;
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        connected = false;
+        reader.interrupt();
+        applier.interrupt();
+        closeSocket();
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void readLoop() {
+        while (!closed) {
+            received.add(RESET);
+            connected = true;
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    int first = line.indexOf(',');
+                    int second = line.indexOf(',', first + 1);
+                    String payload = line.substring(second + 1);
+                    received.add(new Entry(Long.parseLong(line.substring(0, first)),
+                            Long.parseLong(line.substring(first + 1, second)),
+                            payload.isEmpty() ? null : Mutation.decode(payload)));
+                }
+            } catch (IOException | RuntimeException e) {
+                // соединение оборвано или поток повреждён — переподключаемся
+            }
+            connected = false;
+            closeSocket();
+            if (!reconnect()) return;
+        }
+    }
+
+    private boolean reconnect() {
+        while (!closed) {
+            try {
+                Thread.sleep(RECONNECT_DELAY_MILLIS);
+                socket = new Socket(host, port);
+                return !closed;
+            } catch (IOException e) {
+                // primary недоступен, пробуем снова
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // снимок нового соединения собирается в отдельном менеджере и подменяет текущий целиком
+    private void applyLoop() {
+        InMemoryTaskManager loading = null;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Entry entry = received.take();
+                if (entry == RESET) {
+                    loading = new InMemoryTaskManager();
+                } else if (loading != null) {
+                    if (entry.mutation() != null) {
+                        loading.apply(entry.mutation());
+                    } else {
+                        synchronized (lock) {
+                            manager = loading;
+                        }
+                        loading = null;
+                        appliedSequence = entry.sequence();
+                    }
+                } else {
+                    if (entry.mutation() != null) {
+                        synchronized (lock) {
+                            manager.apply(entry.mutation());
+                        }
+                    }
+                    appliedSequence = Math.max(appliedSequence, entry.sequence());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // наружу отдаются копии: объекты внутреннего менеджера меняет поток применения
+    private Task copy(Task task) {
+        if (task == null) return null;
+        if (task instanceof Epic epic) return copy(epic);
+        return TaskRecord.of(task).toTask();
+    }
+
+    private Epic copy(Epic epic) {
+        if (epic == null) return null;
+        Epic result = (Epic) TaskRecord.of(epic).toTask();
+        result.addSubTasks(copyAll(epic.getSubTasks()));
+        return result;
+    }
+
+    private Subtask copy(Subtask subtask) {
+        return subtask == null ? null : (Subtask) TaskRecord.of(subtask).toTask();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Task> List<T> copyAll(List<T> tasks) {
+        List<T> result = new ArrayList<>(tasks.size());
+        for (T task : tasks) {
+            result.add((T) copy(task));
+        }
+        return result;
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        synchronized (lock) {
+            return copy(manager.getTaskById(id));
+        }
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        synchronized (lock) {
+            return copy(manager.getEpicById(id));
+        }
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        synchronized (lock) {
+            return copy(manager.getSubtaskById(id));
+        }
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        synchronized (lock) {
+            return copyAll(manager.getAllTasks());
+        }
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        synchronized (lock) {
+            return copyAll(manager.getAllEpics());
+        }
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        synchronized (lock) {
+            return copyAll(manager.getAllSubtasks());
+        }
+    }
+
+    @Override
+    public List<Subtask> getSubtasksForEpic(int epicId) {
+        synchronized (lock) {
+            return copyAll(manager.getSubtasksForEpic(epicId));
+        }
+    }
+
+    @Override
+    public HistoryManager getHistory() {
+        return history;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addEpic(Epic epic) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addSubtask(Subtask subtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTask(Task updatedTask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateEpic(Epic updatedEpic) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSubtask(Subtask updatedSubtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeTaskById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeEpicById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeSubtaskById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeAllTasks() {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Replica is read-only");
+    }
+
+    // история просмотров реплики: доступ под той же блокировкой, что и данные, наружу — копии
+    private class ReplicaHistory implements HistoryManager {
+        @Override
+        public void add(Task task) {
+            synchronized (lock) {
+                manager.getHistory().add(task);
+            }
+        }
+
+        @Override
+        public void remove(int id) {
+            synchronized (lock) {
+                manager.getHistory().remove(id);
+            }
+        }
+
+        @Override
+        public List<Task> getHistory() {
+            synchronized (lock) {
+                return copyAll(manager.getHistory().getHistory());
+            }
+        }
+
+        @Override
+        public List<Task> getMostViewed(int k) {
+            synchronized (lock) {
+                return copyAll(manager.getHistory().getMostViewed(k));
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package managers;
+
+import managers.task.Task;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Раздаёт упорядоченный журнал изменений менеджера репликам по TCP.
+// Новая реплика сначала получает текущее состояние, затем — все последующие изменения.
+// Состояние — persistent trie из тех же неизменяемых TaskRecord, что уходят в журнал: изменение копирует
+// только путь к ключу, а снимок для новой реплики — это ссылка на текущую версию, без копирования доски.
+public class ReplicationPrimary implements MutationListener, Closeable {
+    private static final int REPLICA_QUEUE_CAPACITY = 65_536;
+    // эпики первыми, чтобы подзадачи на реплике сразу привязывались к ним; внутри типа — порядок добавления
+    private static final Comparator<TaskRecord> SNAPSHOT_ORDER = Comparator
+            .comparingInt((TaskRecord record) -> switch (record.type()) {
+                case EPIC -> 0;
+                case TASK -> 1;
+                case SUBTASK -> 2;
+            })
+            .thenComparingInt(TaskRecord::id);
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private PersistentIntMap<TaskRecord> state = PersistentIntMap.empty();
+    private final List<Connection> connections = new ArrayList<>();
+    private long sequence;
+    private boolean closed;
+
+    public ReplicationPrimary(InMemoryTaskManager manager, int port) {
+        this(manager, InetAddress.getLoopbackAddress(), port);
+    }
+
+    // bindAddress — интерфейс, на котором ждём реплики; для других хостов нужен внешний адрес или 0.0.0.0
+    public ReplicationPrimary(InMemoryTaskManager manager, InetAddress bindAddress, int port) {
+        for (Task epic : manager.getAllEpics()) {
+            state = state.put(epic.getId(), TaskRecord.of(epic));
+        }
+        for (Task task : manager.getAllTasks()) {
+            state = state.put(task.getId(), TaskRecord.of(task));
+        }
+        for (Task subtask : manager.getAllSubtasks()) {
+            state = state.put(subtask.getId(), TaskRecord.of(subtask));
+        }
+
+        try {
+            serverSocket = new ServerSocket(port, 50, bindAddress);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot listen on " + bindAddress + ":" + port, e);
+        }
+        manager.addMutationListener(this);
+        acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized int getReplicaCount() {
+        return connections.size();
+    }
+
+    @Override
+    public synchronized void onMutation(Mutation mutation) {
+        if (mutation.isRemoval()) {
+            state = state.remove(mutation.id());
+        } else {
+            state = state.put(mutation.id(), mutation.state());
+        }
+        sequence++;
+        String line = line(sequence, mutation);
+        for (Connection connection : new ArrayList<>(connections)) {
+            connection.send(line);
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Connection> toClose;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(connections);
+            connections.clear();
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (Connection connection : toClose) {
+            connection.close();
+        }
+    }
+
+    // seq,timestamp,mutation; пустое изменение — только отметка позиции журнала
+    private static String line(long sequence, Mutation mutation) {
+        return sequence + "," + System.currentTimeMillis() + "," + (mutation != null ? mutation.encode() : "");
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                register(socket);
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) return;
+            }
+        }
+    }
+
+    // версия состояния, её позиция в журнале и регистрация берутся под одной блокировкой за O(1):
+    // ни одно изменение не потеряется и не задвоится, а обход снимка идёт уже в потоке отправки
+    private void register(Socket socket) {
+        Connection connection;
+        synchronized (this) {
+            if (closed) {
+                closeQuietly(socket);
+                return;
+            }
+            connection = new Connection(socket, state, sequence);
+            connections.add(connection);
+        }
+        connection.start();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private synchronized void unregister(Connection connection) {
+        connections.remove(connection);
+    }
+
+    private class Connection {
+        private final Socket socket;
+        private PersistentIntMap<TaskRecord> snapshot;
+        private final long snapshotSequence;
+        private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(REPLICA_QUEUE_CAPACITY);
+        private final Thread sender;
+
+        Connection(Socket socket, PersistentIntMap<TaskRecord> snapshot, long snapshotSequence) {
+            this.socket = socket;
+            this.snapshot = snapshot;
+            this.snapshotSequence = snapshotSequence;
+            this.sender = new Thread(this::sendLoop, "replication-sender-" + socket.getPort());
+            this.sender.setDaemon(true);
+        }
+
+        void start() {
+            sender.start();
+        }
+
+        // отставшая реплика отключается и при переподключении получит свежий снимок
+        void send(String line) {
+            if (!queue.offer(line)) {
+                unregister(this);
+                close();
+            }
+        }
+
+        void close() {
+            sender.interrupt();
+            closeQuietly(socket);
+        }
+
+        private void sendLoop() {
+            try (BufferedWriter out = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                List<TaskRecord> records = new ArrayList<>(snapshot.size());
+                snapshot.forEach((id, record) -> records.add(record));
+                snapshot = null;
+                records.sort(SNAPSHOT_ORDER);
+                for (TaskRecord record : records) {
+                    out.write(line(0, Mutation.upsert(record)));
+                    out.newLine();
+                }
+                out.write(line(snapshotSequence, null));
+                out.newLine();
+                out.flush();
+                while (!Thread.currentThread().isInterrupted()) {
+                    String line = queue.take();
+                    out.write(line);
+                    out.newLine();
+                    if (queue.isEmpty()) out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // реплика отключилась или primary закрыт
+            } finally {
+                unregister(this);
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package managers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Пул строк с подсчётом ссылок: одинаковые заголовки и описания хранятся один раз
+class StringPool {
+    static final int NULL_REF = -1;
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private String[] values = new String[16];
+    private int[] refCounts = new int[16];
+    private int[] freeRefs = new int[16];
+    private int freeCount;
+    private int size;
+
+    int acquire(String value) {
+        if (value == null) return NULL_REF;
+        Integer ref = index.get(value);
+        if (ref != null) {
+            refCounts[ref]++;
+            return ref;
+        }
+
+        int newRef;
+        if (freeCount > 0) {
+            newRef = freeRefs[--freeCount];
+        } else {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                refCounts = Arrays.copyOf(refCounts, size * 2);
+            }
+            newRef = size++;
+        }
+        values[newRef] = value;
+        refCounts[newRef] = 1;
+        index.put(value, newRef);
+        return newRef;
+    }
+
+    String get(int ref) {
+        return ref == NULL_REF ? null : values[ref];
+    }
+
+    void release(int ref) {
+        if (ref == NULL_REF || --refCounts[ref] > 0) return;
+        index.remove(values[ref]);
+        values[ref] = null;
+        if (freeCount == freeRefs.length) {
+            freeRefs = Arrays.copyOf(freeRefs, freeCount * 2);
+        }
+        freeRefs[freeCount++] = ref;
+    }
+}
@@ -0,0 +1,27 @@
+package managers;
+
+import managers.task.*;
+
+// Неизменяемый снимок задачи любого типа на момент изменения
+public record TaskRecord(TaskType type, int id, String title, String description, TaskStatus status, int epicId) {
+
+    public static TaskRecord of(Task task) {
+        if (task instanceof Subtask subtask) {
+            return new TaskRecord(TaskType.SUBTASK, task.getId(), task.getTitle(), task.getDescription(),
+                    task.getStatus(), subtask.getEpicId());
+        }
+        TaskType type = task instanceof Epic ? TaskType.EPIC : TaskType.TASK;
+        return new TaskRecord(type, task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), 0);
+    }
+
+    public Task toTask() {
+        Task task = switch (type) {
+            case TASK -> new Task(title, description);
+            case EPIC -> new Epic(title, description);
+            case SUBTASK -> new Subtask(title, description, epicId);
+        };
+        task.setId(id);
+        task.setStatus(status);
+        return task;
+    }
+}
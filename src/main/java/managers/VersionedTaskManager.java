@@ -0,0 +1,368 @@
+package managers;
+
+import managers.task.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+// Каждое изменение создаёт новую версию доски на persistent hash trie: версия хранит только
+// скопированный путь к изменённым задачам, остальное разделяет с предыдущей.
+public class VersionedTaskManager extends TaskManager {
+    private final List<Board> versions = new ArrayList<>();
+    private final Deque<Integer> undoStack = new ArrayDeque<>();
+    private final Deque<Integer> redoStack = new ArrayDeque<>();
+    private final HistoryManager historyManager = Managers.getDefaultHistory();
+
+    private record Board(PersistentIntMap<TaskRecord> entities,
+                         PersistentIntMap<PersistentIntMap<Boolean>> children,
+                         int nextId) {
+    }
+
+    public VersionedTaskManager() {
+        versions.add(new Board(PersistentIntMap.empty(), PersistentIntMap.empty(), 1));
+    }
+
+    public int getVersion() {
+        return versions.size() - 1;
+    }
+
+    public Snapshot at(int version) {
+        if (version < 0 || version >= versions.size()) {
+            throw new IllegalArgumentException("Unknown version " + version);
+        }
+        return new Snapshot(version, versions.get(version));
+    }
+
+    // Версии только добавляются: undo/redo тоже создают новую версию, разделяющую доску с прежней,
+    // поэтому at(v) не меняется задним числом. nextId не откатывается, id отменённых задач не выдаются повторно.
+    // Новое изменение после undo отбрасывает возможность redo
+    public boolean undo() {
+        if (undoStack.isEmpty()) return false;
+        redoStack.push(getVersion());
+        restore(versions.get(undoStack.pop()));
+        return true;
+    }
+
+    public boolean redo() {
+        if (redoStack.isEmpty()) return false;
+        undoStack.push(getVersion());
+        restore(versions.get(redoStack.pop()));
+        return true;
+    }
+
+    private void restore(Board target) {
+        versions.add(new Board(target.entities(), target.children(), Math.max(board().nextId(), target.nextId())));
+    }
+
+    public List<Mutation> diff(int fromVersion, int toVersion) {
+        Board from = at(fromVersion).board;
+        Board to = at(toVersion).board;
+        List<Mutation> changes = new ArrayList<>();
+        PersistentIntMap.diff(from.entities(), to.entities(), (id, before, after) ->
+                changes.add(after != null ? Mutation.upsert(after) : Mutation.removal(id)));
+        return changes;
+    }
+
+    private Board board() {
+        return versions.get(versions.size() - 1);
+    }
+
+    private void commit(Board next) {
+        undoStack.push(getVersion());
+        redoStack.clear();
+        versions.add(next);
+    }
+
+    private TaskRecord find(int id, TaskType type) {
+        TaskRecord record = board().entities().get(id);
+        return record != null && record.type() == type ? record : null;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        Board board = board();
+        task.setId(board.nextId());
+        commit(new Board(board.entities().put(task.getId(), TaskRecord.of(task)), board.children(),
+                board.nextId() + 1));
+    }
+
+    @Override
+    public void addEpic(Epic epic) {
+        Board board = board();
+        epic.setId(board.nextId());
+        epic.setStatus(TaskStatus.NEW);
+        commit(new Board(board.entities().put(epic.getId(), TaskRecord.of(epic)), board.children(),
+                board.nextId() + 1));
+    }
+
+    @Override
+    public void addSubtask(Subtask subtask) {
+        Board board = board();
+        subtask.setId(board.nextId());
+        PersistentIntMap<TaskRecord> entities = board.entities().put(subtask.getId(), TaskRecord.of(subtask));
+        PersistentIntMap<PersistentIntMap<Boolean>> children = board.children();
+
+        TaskRecord epic = find(subtask.getEpicId(), TaskType.EPIC);
+        if (epic != null) {
+            PersistentIntMap<Boolean> siblings = children.get(epic.id());
+            siblings = (siblings != null ? siblings : PersistentIntMap.<Boolean>empty()).put(subtask.getId(), true);
+            children = children.put(epic.id(), siblings);
+            entities = withEpicStatus(entities, epic, siblings);
+        }
+        commit(new Board(entities, children, board.nextId() + 1));
+    }
+
+    @Override
+    public void updateTask(Task updatedTask) {
+        TaskRecord task = find(updatedTask.getId(), TaskType.TASK);
+        if (task != null) {
+            Board board = board();
+            commit(new Board(board.entities().put(task.id(), new TaskRecord(TaskType.TASK, task.id(),
+                    updatedTask.getTitle(), updatedTask.getDescription(), updatedTask.getStatus(), 0)),
+                    board.children(), board.nextId()));
+        }
+    }
+
+    @Override
+    public void updateEpic(Epic updatedEpic) {
+        TaskRecord epic = find(updatedEpic.getId(), TaskType.EPIC);
+        if (epic != null) {
+            Board board = board();
+            commit(new Board(board.entities().put(epic.id(), new TaskRecord(TaskType.EPIC, epic.id(),
+                    updatedEpic.getTitle(), updatedEpic.getDescription(), epic.status(), 0)),
+                    board.children(), board.nextId()));
+        }
+    }
+
+    @Override
+    public void updateSubtask(Subtask updatedSubtask) {
+        TaskRecord subtask = find(updatedSubtask.getId(), TaskType.SUBTASK);
+        if (subtask != null) {
+            Board board = board();
+            PersistentIntMap<TaskRecord> entities = board.entities().put(subtask.id(),
+                    new TaskRecord(TaskType.SUBTASK, subtask.id(), updatedSubtask.getTitle(),
+                            updatedSubtask.getDescription(), updatedSubtask.getStatus(), subtask.epicId()));
+
+            TaskRecord epic = find(subtask.epicId(), TaskType.EPIC);
+            PersistentIntMap<Boolean> siblings = board.children().get(subtask.epicId());
+            if (epic != null && siblings != null && siblings.get(subtask.id()) != null) {
+                entities = withEpicStatus(entities, epic, siblings);
+            }
+            commit(new Board(entities, board.children(), board.nextId()));
+        }
+    }
+
+    @Override
+    public void removeTaskById(int id) {
+        if (find(id, TaskType.TASK) != null) {
+            Board board = board();
+            commit(new Board(board.entities().remove(id), board.children(), board.nextId()));
+            historyManager.remove(id);
+        }
+    }
+
+    @Override
+    public void removeEpicById(int id) {
+        if (find(id, TaskType.EPIC) != null) {
+            Board board = board();
+            PersistentIntMap<TaskRecord> entities = board.entities().remove(id);
+            PersistentIntMap<Boolean> siblings = board.children().get(id);
+            if (siblings != null) {
+                List<Integer> subtaskIds = new ArrayList<>();
+                siblings.forEach((subtaskId, linked) -> subtaskIds.add(subtaskId));
+                for (int subtaskId : subtaskIds) {
+                    entities = entities.remove(subtaskId);
+                    historyManager.remove(subtaskId);
+                }
+            }
+            commit(new Board(entities, board.children().remove(id), board.nextId()));
+            historyManager.remove(id);
+        }
+    }
+
+    @Override
+    public void removeSubtaskById(int id) {
+        TaskRecord subtask = find(id, TaskType.SUBTASK);
+        if (subtask != null) {
+            Board board = board();
+            PersistentIntMap<TaskRecord> entities = board.entities().remove(id);
+            PersistentIntMap<PersistentIntMap<Boolean>> children = board.children();
+
+            TaskRecord epic = find(subtask.epicId(), TaskType.EPIC);
+            PersistentIntMap<Boolean> siblings = children.get(subtask.epicId());
+            if (epic != null && siblings != null && siblings.get(id) != null) {
+                siblings = siblings.remove(id);
+                children = children.put(epic.id(), siblings);
+                entities = withEpicStatus(entities, epic, siblings);
+            }
+            commit(new Board(entities, children, board.nextId()));
+            historyManager.remove(id);
+        }
+    }
+
+    @Override
+    public void removeAllTasks() {
+        Board board = board();
+        List<Integer> taskIds = new ArrayList<>();
+        board.entities().forEach((id, record) -> {
+            if (record.type() == TaskType.TASK) taskIds.add(id);
+        });
+        if (taskIds.isEmpty()) return;
+
+        PersistentIntMap<TaskRecord> entities = board.entities();
+        for (int id : taskIds) {
+            entities = entities.remove(id);
+            historyManager.remove(id);
+        }
+        commit(new Board(entities, board.children(), board.nextId()));
+    }
+
+    private static PersistentIntMap<TaskRecord> withEpicStatus(PersistentIntMap<TaskRecord> entities,
+                                                               TaskRecord epic,
+                                                               PersistentIntMap<Boolean> siblings) {
+        boolean[] allNew = {true};
+        boolean[] allDone = {true};
+        siblings.forEach((subtaskId, linked) -> {
+            TaskStatus status = entities.get(subtaskId).status();
+            if (status != TaskStatus.NEW) allNew[0] = false;
+            if (status != TaskStatus.DONE) allDone[0] = false;
+        });
+
+        TaskStatus status;
+        if (allDone[0] && siblings.size() > 0) {
+            status = TaskStatus.DONE;
+        } else if (allNew[0]) {
+            status = TaskStatus.NEW;
+        } else {
+            status = TaskStatus.IN_PROGRESS;
+        }
+        if (status == epic.status()) return entities;
+        return entities.put(epic.id(), new TaskRecord(TaskType.EPIC, epic.id(), epic.title(),
+                epic.description(), status, 0));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        Task task = at(getVersion()).getTaskById(id);
+        if (task != null) historyManager.add(task);
+        return task;
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        Epic epic = at(getVersion()).getEpicById(id);
+        if (epic != null) historyManager.add(epic);
+        return epic;
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        Subtask subtask = at(getVersion()).getSubtaskById(id);
+        if (subtask != null) historyManager.add(subtask);
+        return subtask;
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return at(getVersion()).getAllTasks();
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return at(getVersion()).getAllEpics();
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return at(getVersion()).getAllSubtasks();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksForEpic(int epicId) {
+        return at(getVersion()).getSubtasksForEpic(epicId);
+    }
+
+    @Override
+    public HistoryManager getHistory() {
+        return historyManager;
+    }
+
+    // Доска в конкретной версии; возвращает новые объекты задач, изменения в них на версию не влияют.
+    // Trie обходится в порядке битов ключа, поэтому списки сортируются по id — это порядок добавления
+    public static class Snapshot {
+        private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::getId);
+
+        private final int version;
+        private final Board board;
+
+        private Snapshot(int version, Board board) {
+            this.version = version;
+            this.board = board;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public Task getTaskById(int id) {
+            TaskRecord record = board.entities().get(id);
+            return record != null && record.type() == TaskType.TASK ? record.toTask() : null;
+        }
+
+        public Epic getEpicById(int id) {
+            TaskRecord record = board.entities().get(id);
+            return record != null && record.type() == TaskType.EPIC ? toEpic(record) : null;
+        }
+
+        public Subtask getSubtaskById(int id) {
+            TaskRecord record = board.entities().get(id);
+            return record != null && record.type() == TaskType.SUBTASK ? (Subtask) record.toTask() : null;
+        }
+
+        public List<Task> getAllTasks() {
+            List<Task> result = new ArrayList<>();
+            board.entities().forEach((id, record) -> {
+                if (record.type() == TaskType.TASK) result.add(record.toTask());
+            });
+            result.sort(BY_ID);
+            return result;
+        }
+
+        public List<Epic> getAllEpics() {
+            List<Epic> result = new ArrayList<>();
+            board.entities().forEach((id, record) -> {
+                if (record.type() == TaskType.EPIC) result.add(toEpic(record));
+            });
+            result.sort(BY_ID);
+            return result;
+        }
+
+        public List<Subtask> getAllSubtasks() {
+            List<Subtask> result = new ArrayList<>();
+            board.entities().forEach((id, record) -> {
+                if (record.type() == TaskType.SUBTASK) result.add((Subtask) record.toTask());
+            });
+            result.sort(BY_ID);
+            return result;
+        }
+
+        public List<Subtask> getSubtasksForEpic(int epicId) {
+            PersistentIntMap<Boolean> siblings = board.children().get(epicId);
+            if (siblings == null) return Collections.emptyList();
+            List<Subtask> result = new ArrayList<>(siblings.size());
+            siblings.forEach((id, linked) -> result.add((Subtask) board.entities().get(id).toTask()));
+            result.sort(BY_ID);
+            return result;
+        }
+
+        private Epic toEpic(TaskRecord record) {
+            Epic epic = (Epic) record.toTask();
+            epic.addSubTasks(getSubtasksForEpic(record.id()));
+            return epic;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package managers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Изменения подтверждаются сразу из памяти, а на диск их пачками дописывает отдельный поток.
+// Повторные изменения одного id до записи схлопываются в одно — на диск попадает последнее состояние.
+public class WriteBehindPersistence implements MutationListener, Closeable {
+    private final FileChannel channel;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Thread writer;
+    private LinkedHashMap<Integer, Mutation> pending = new LinkedHashMap<>();
+    private boolean writing;
+    private boolean closed;
+    private IOException failure;
+
+    public WriteBehindPersistence(Path file, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot open " + file, e);
+        }
+        this.capacity = capacity;
+        this.writer = new Thread(this::writeLoop, "write-behind-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // запись считается целой только с завершающим '\n': хвост после последнего перевода строки
+    // (или последняя строка, которая не разбирается) — след оборванной при сбое дозаписи, его отрезаем
+    public static InMemoryTaskManager load(Path file) {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        if (!Files.exists(file)) return manager;
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            int complete = 0;
+            int start = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] != '\n') continue;
+                String line = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+                if (!line.isEmpty()) {
+                    Mutation mutation;
+                    try {
+                        mutation = Mutation.decode(line);
+                    } catch (IllegalArgumentException e) {
+                        if (i + 1 < bytes.length) throw e;
+                        break;
+                    }
+                    manager.apply(mutation);
+                }
+                start = i + 1;
+                complete = start;
+            }
+            if (complete < bytes.length) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(complete);
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read " + file, e);
+        }
+        return manager;
+    }
+
+    // при заполненной очереди вызывающий поток ждёт писателя, если только id уже не в очереди
+    @Override
+    public void onMutation(Mutation mutation) {
+        lock.lock();
+        try {
+            while (!closed && failure == null
+                    && pending.size() >= capacity && !pending.containsKey(mutation.id())) {
+                notFull.await();
+            }
+            checkState();
+            pending.put(mutation.id(), mutation);
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Interrupted while waiting for the writer", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+        try {
+            while ((!pending.isEmpty() || writing) && failure == null) {
+                drained.await();
+            }
+            if (failure != null) {
+                throw new ManagerSaveException("Write-behind failed", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Interrupted while flushing", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Interrupted while closing", e);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot close the store", e);
+        }
+        if (failure != null) {
+            throw new ManagerSaveException("Write-behind failed", failure);
+        }
+    }
+
+    private void checkState() {
+        if (failure != null) {
+            throw new ManagerSaveException("Write-behind failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-behind store is closed");
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Map<Integer, Mutation> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                writing = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                write(batch);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                writing = false;
+                failure = error;
+                drained.signalAll();
+                notFull.signalAll();
+                if (error != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void write(Map<Integer, Mutation> batch) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Mutation mutation : batch.values()) {
+            sb.append(mutation.encode()).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+}
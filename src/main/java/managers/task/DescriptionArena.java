@@ -0,0 +1,154 @@
+package managers.task;
+
+import java.io.Closeable;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Хранилище описаний вне кучи: байты UTF-8 лежат в direct ByteBuffer, задача держит только номер записи.
+// Номер записи не меняется при уплотнении, поэтому буфер можно пересобирать в фоне.
+public class DescriptionArena implements Closeable {
+    public static final int NO_HANDLE = -1;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int initialCapacity;
+    private ByteBuffer buffer;
+    private int position;
+    private long liveBytes;
+    private int[] offsets = new int[16];
+    private int[] lengths = new int[16];
+    private int[] freeHandles = new int[16];
+    private int freeCount;
+    private int handleCount;
+    private ScheduledExecutorService compactor;
+
+    public DescriptionArena(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+        buffer = ByteBuffer.allocateDirect(initialCapacity);
+    }
+
+    public synchronized int put(String description) {
+        if (description == null) return NO_HANDLE;
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(bytes.length);
+
+        int handle = newHandle();
+        buffer.put(position, bytes);
+        offsets[handle] = position;
+        lengths[handle] = bytes.length;
+        position += bytes.length;
+        liveBytes += bytes.length;
+        return handle;
+    }
+
+    public synchronized String get(int handle) {
+        if (handle == NO_HANDLE) return null;
+        byte[] bytes = new byte[lengths[handle]];
+        buffer.get(offsets[handle], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public synchronized void free(int handle) {
+        if (handle == NO_HANDLE) return;
+        liveBytes -= lengths[handle];
+        lengths[handle] = 0;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+
+    // освобождает запись, когда owner станет недостижим; clean() у результата освобождает сразу
+    public Cleaner.Cleanable freeWhenUnreachable(Object owner, int handle) {
+        return CLEANER.register(owner, () -> free(handle));
+    }
+
+    public synchronized int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    public synchronized long getGarbageBytes() {
+        return position - liveBytes;
+    }
+
+    // буфер ужимается вместе с данными, иначе после массового удаления память вне кучи осталась бы на пике
+    public synchronized void compact() {
+        relocate((int) Math.min(buffer.capacity(), Math.max(initialCapacity, liveBytes * 2)));
+    }
+
+    // уплотняем, только если мусора не меньше, чем живых данных
+    public synchronized void compactIfFragmented() {
+        if (getGarbageBytes() > 0 && getGarbageBytes() >= liveBytes) {
+            compact();
+        }
+    }
+
+    public synchronized void startBackgroundCompaction(long period, TimeUnit unit) {
+        if (compactor != null) return;
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "description-arena-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfFragmented, period, period, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            compactor = null;
+        }
+    }
+
+    private int newHandle() {
+        if (freeCount > 0) {
+            return freeHandles[--freeCount];
+        }
+        if (handleCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, handleCount * 2);
+            lengths = Arrays.copyOf(lengths, handleCount * 2);
+        }
+        return handleCount++;
+    }
+
+    private void ensureRoom(int length) {
+        if (position + length <= buffer.capacity()) return;
+        long required = liveBytes + length;
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Description arena is full");
+        }
+        int capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(16L, capacity * 2L));
+        }
+        relocate(capacity);
+    }
+
+    // живые записи переносятся подряд в новый буфер; старый освободит GC
+    private void relocate(int capacity) {
+        ByteBuffer target = ByteBuffer.allocateDirect(capacity);
+        boolean[] free = new boolean[handleCount];
+        for (int i = 0; i < freeCount; i++) {
+            free[freeHandles[i]] = true;
+        }
+
+        int targetPosition = 0;
+        for (int handle = 0; handle < handleCount; handle++) {
+            if (free[handle]) continue;
+            target.put(targetPosition, buffer, offsets[handle], lengths[handle]);
+            offsets[handle] = targetPosition;
+            targetPosition += lengths[handle];
+        }
+        buffer = target;
+        position = targetPosition;
+    }
+}
@@ -1,6 +1,7 @@
 package managers.task;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,17 +17,29 @@ public class Epic extends Task {
         return new ArrayList<>(subtasks);
     }
 
-    public void addSubTask(Subtask subtask) {
-        if (!subtasks.contains(subtask)) {
+    public boolean addSubTask(Subtask subtask) {
+        if (subtasks.contains(subtask)) {
+            return false;
+        }
+        subtasks.add(subtask);
+        subtask.setEpicId(this.getId());
+        updateEpicStatus();
+        return true;
+    }
+
+    // массовая загрузка: без проверки дубликатов и с одним пересчётом статуса
+    public void addSubTasks(Collection<Subtask> newSubtasks) {
+        for (Subtask subtask : newSubtasks) {
             subtasks.add(subtask);
             subtask.setEpicId(this.getId());
-            updateEpicStatus();
         }
+        updateEpicStatus();
     }
 
-    public void removeSubtask(Subtask subtask) {
-        subtasks.remove(subtask);
+    public boolean removeSubtask(Subtask subtask) {
+        boolean removed = subtasks.remove(subtask);
         updateEpicStatus();
+        return removed;
     }
 
     public void clearSubtask() {
@@ -56,22 +69,22 @@ public class Epic extends Task {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Epic epic)) return false;
-        return super.equals(o) && Objects.equals(subtasks, epic.subtasks);
+        return super.equals(o) && Objects.equals(getSubTasks(), epic.getSubTasks());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), subtasks);
+        return Objects.hash(super.hashCode(), getSubTasks());
     }
 
     @Override
     public String toString() {
         return "Epic{" +
-                "id=" + id +
-                ", title='" + title + '\'' +
-                ", description='" + description + '\'' +
-                ", status=" + status +
-                ", subtaskCount=" + subtasks.size() +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", description='" + getDescription() + '\'' +
+                ", status=" + getStatus() +
+                ", subtaskCount=" + getSubTasks().size() +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package managers.task;
+
+import java.util.*;
+
+// Частота просмотров: count-min sketch со старением и ограниченная min-куча top-K.
+// Память постоянна и не зависит от размера доски, запись — O(1) при фиксированных width и capacity.
+public class HotTaskTracker {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x7F4A7C15, 0x165667B1, 0x27D4EB2F};
+
+    private final int[] counters;
+    private final int widthMask;
+    private final int rowShift;
+    private final int sampleSize;
+    private int samples;
+
+    private final Task[] heap;
+    private final int[] heapCounts;
+    private final Map<Integer, Integer> heapIndex = new HashMap<>();
+    private int heapSize;
+
+    public HotTaskTracker(int width, int capacity) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a positive power of two");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        counters = new int[DEPTH * width];
+        widthMask = width - 1;
+        rowShift = Integer.numberOfTrailingZeros(width);
+        sampleSize = 10 * width;
+        heap = new Task[capacity];
+        heapCounts = new int[capacity];
+    }
+
+    public void record(Task task) {
+        int id = task.getId();
+        int estimate = increment(id);
+        if (++samples >= sampleSize) {
+            age();
+            estimate = estimate(id);
+        }
+
+        Integer position = heapIndex.get(id);
+        if (position != null) {
+            heap[position] = task;
+            heapCounts[position] = estimate;
+            siftDown(position);
+        } else if (heapSize < heap.length) {
+            place(heapSize++, task, estimate);
+            siftUp(heapSize - 1);
+        } else if (estimate > heapCounts[0]) {
+            heapIndex.remove(heap[0].getId());
+            place(0, task, estimate);
+            siftDown(0);
+        }
+    }
+
+    public void remove(int id) {
+        Integer position = heapIndex.remove(id);
+        if (position == null) return;
+        int last = --heapSize;
+        if (position != last) {
+            place(position, heap[last], heapCounts[last]);
+            siftDown(position);
+            siftUp(position);
+        }
+        heap[last] = null;
+    }
+
+    public List<Task> getMostViewed(int k) {
+        Integer[] order = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(heapCounts[b], heapCounts[a]));
+
+        int size = Math.min(Math.max(k, 0), heapSize);
+        List<Task> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(heap[order[i]]);
+        }
+        return result;
+    }
+
+    public int estimate(int id) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[index(row, id)]);
+        }
+        return min;
+    }
+
+    private int increment(int id) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int i = index(row, id);
+            if (counters[i] < Integer.MAX_VALUE) counters[i]++;
+            min = Math.min(min, counters[i]);
+        }
+        return min;
+    }
+
+    private int index(int row, int id) {
+        int h = (id ^ SEEDS[row]) * 0x85EBCA6B; // перемешивание из murmur3
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (row << rowShift) | (h & widthMask);
+    }
+
+    // старение: все счётчики делим пополам, чтобы старая популярность постепенно забывалась
+    private void age() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+        for (int i = 0; i < heapSize; i++) {
+            heapCounts[i] >>>= 1;
+        }
+        samples /= 2;
+    }
+
+    private void place(int position, Task task, int count) {
+        heap[position] = task;
+        heapCounts[position] = count;
+        heapIndex.put(task.getId(), position);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (heapCounts[parent] <= heapCounts[position]) return;
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < heapSize && heapCounts[left] < heapCounts[smallest]) smallest = left;
+            if (right < heapSize && heapCounts[right] < heapCounts[smallest]) smallest = right;
+            if (smallest == position) return;
+            swap(smallest, position);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Task task = heap[a];
+        int count = heapCounts[a];
+        place(a, heap[b], heapCounts[b]);
+        place(b, task, count);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.*;
 public class InMemoryHistoryManager implements HistoryManager {
 
     private final Map<Integer, Node> nodes = new HashMap<>();
+    private final HotTaskTracker hotTasks = new HotTaskTracker(1024, 32);
     private Node head;
     private Node tail;
 
@@ -23,14 +24,25 @@ public class InMemoryHistoryManager implements HistoryManager {
     @Override
     public void add(Task task) {
         if (task == null) return;
-        remove(task.getId()); // удалим, если уже есть
+        unlink(task.getId()); // удалим, если уже есть
         Node node = new Node(task);
         linkLast(node);
         nodes.put(task.getId(), node);
+        hotTasks.record(task);
     }
 
     @Override
     public void remove(int id) {
+        unlink(id);
+        hotTasks.remove(id);
+    }
+
+    @Override
+    public List<Task> getMostViewed(int k) {
+        return hotTasks.getMostViewed(k);
+    }
+
+    private void unlink(int id) {
         Node node = nodes.remove(id);
         if (node == null) return;
 
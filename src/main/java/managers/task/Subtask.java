@@ -23,22 +23,22 @@ public class Subtask extends Task {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Subtask subtask)) return false;
-        return super.equals(o) && epicId == subtask.epicId;
+        return super.equals(o) && getEpicId() == subtask.getEpicId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), epicId);
+        return Objects.hash(super.hashCode(), getEpicId());
     }
 
     @Override
     public String toString() {
         return "Subtask{" +
-                "id=" + id +
-                ", title='" + title + '\'' +
-                ", description='" + description + '\'' +
-                ", status=" + status +
-                ", epicId=" + epicId +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", description='" + getDescription() + '\'' +
+                ", status=" + getStatus() +
+                ", epicId=" + getEpicId() +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package managers.task;
 
+import java.lang.ref.Cleaner;
 import java.util.Objects;
 
 public class Task {
@@ -7,6 +8,9 @@ public class Task {
     protected String title;
     protected String description;
     protected TaskStatus status;
+    private DescriptionArena descriptionArena;
+    private int descriptionHandle = DescriptionArena.NO_HANDLE;
+    private Cleaner.Cleanable descriptionRelease; // задача удалена из менеджера, а описание ещё в arena
 
     public Task(String title, String description) {
         this.title = title;
@@ -31,11 +35,58 @@ public class Task {
     }
 
     public String getDescription() {
+        if (descriptionRelease != null) {
+            moveDescriptionOnHeap(); // удалённую задачу читают — только теперь переносим описание в кучу
+        }
+        if (descriptionArena != null) {
+            return descriptionArena.get(descriptionHandle); // декодируем только по запросу
+        }
         return description;
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        if (descriptionRelease != null) {
+            moveDescriptionOnHeap();
+        }
+        if (descriptionArena != null) {
+            descriptionArena.free(descriptionHandle);
+            descriptionHandle = descriptionArena.put(description);
+        } else {
+            this.description = description;
+        }
+    }
+
+    public void moveDescriptionTo(DescriptionArena arena) {
+        if (descriptionArena == arena && descriptionRelease == null) return;
+        if (arena == null) {
+            moveDescriptionOnHeap();
+            return;
+        }
+        String current = getDescription();
+        moveDescriptionOnHeap();
+        descriptionArena = arena;
+        descriptionHandle = arena.put(current);
+        description = null;
+    }
+
+    public void moveDescriptionOnHeap() {
+        if (descriptionArena == null) return;
+        description = descriptionArena.get(descriptionHandle);
+        if (descriptionRelease != null) {
+            descriptionRelease.clean();
+            descriptionRelease = null;
+        } else {
+            descriptionArena.free(descriptionHandle);
+        }
+        descriptionArena = null;
+        descriptionHandle = DescriptionArena.NO_HANDLE;
+    }
+
+    // задача больше не в менеджере: описание не декодируется, место в arena освободится
+    // при первом чтении описания или когда задачу соберёт GC
+    public void detachDescription() {
+        if (descriptionArena == null || descriptionRelease != null) return;
+        descriptionRelease = descriptionArena.freeWhenUnreachable(this, descriptionHandle);
     }
 
     public TaskStatus getStatus() {
@@ -51,24 +102,24 @@ public class Task {
         if (this == o) return true;
         if (!(o instanceof Task)) return false;
         Task task = (Task) o;
-        return id == task.id &&
-                Objects.equals(title, task.title) &&
-                Objects.equals(description, task.description) &&
-                status == task.status;
+        return getId() == task.getId() &&
+                Objects.equals(getTitle(), task.getTitle()) &&
+                Objects.equals(getDescription(), task.getDescription()) &&
+                getStatus() == task.getStatus();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, status);
+        return Objects.hash(getId(), getTitle(), getDescription(), getStatus());
     }
 
     @Override
     public String toString() {
         return "Task{" +
-                "id=" + id +
-                ", title='" + title + '\'' +
-                ", description='" + description + '\'' +
-                ", status=" + status +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", description='" + getDescription() + '\'' +
+                ", status=" + getStatus() +
                 '}';
     }
 }
\ No newline at end of file
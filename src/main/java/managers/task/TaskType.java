@@ -0,0 +1,7 @@
+package managers.task;
+
+public enum TaskType {
+    TASK,
+    EPIC,
+    SUBTASK
+}
@@ -0,0 +1,163 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.BoardArchive;
+import managers.InMemoryTaskManager;
+import managers.ManagerSaveException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+public class BoardArchiveTest {
+    @TempDir
+    Path dir;
+
+    private InMemoryTaskManager taskManager;
+    private Task task;
+    private Epic epic;
+    private Subtask subtask;
+
+    @BeforeEach
+    public void setUp() {
+        taskManager = new InMemoryTaskManager();
+        task = new Task("Задача 1", "Описание задачи 1");
+        taskManager.addTask(task);
+        epic = new Epic("Эпик 1", null);
+        taskManager.addEpic(epic);
+        subtask = new Subtask("Подзадача 1", "Описание подзадачи", epic.getId());
+        taskManager.addSubtask(subtask);
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+        Task removed = new Task("Удалённая", "Описание");
+        taskManager.addTask(removed);
+        taskManager.removeTaskById(removed.getId());
+
+        taskManager.getSubtaskById(subtask.getId());
+        taskManager.getTaskById(task.getId());
+        taskManager.getEpicById(epic.getId());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        assertRoundTrip(false);
+    }
+
+    @Test
+    public void testCompressedRoundTrip() {
+        assertRoundTrip(true);
+    }
+
+    @Test
+    public void testImportRequiresEmptyManager() {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+        assertThrows(IllegalArgumentException.class, () -> BoardArchive.importBoard(file, taskManager));
+    }
+
+    @Test
+    public void testTruncatedArchiveLeavesTargetEmpty() throws Exception {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 6));
+
+        InMemoryTaskManager restored = new InMemoryTaskManager();
+        assertThrows(ManagerSaveException.class, () -> BoardArchive.importBoard(file, restored));
+        assertTrue(restored.getAllTasks().isEmpty());
+        assertTrue(restored.getAllEpics().isEmpty());
+        assertTrue(restored.getAllSubtasks().isEmpty());
+    }
+
+    @Test
+    public void testCorruptTypeIsRejected() throws Exception {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[14] = 42; // тип первой записи: заголовок 6 байт, nextId и count по 4
+        Files.write(file, bytes);
+
+        InMemoryTaskManager restored = new InMemoryTaskManager();
+        assertThrows(IllegalArgumentException.class, () -> BoardArchive.importBoard(file, restored));
+        assertTrue(restored.getAllEpics().isEmpty());
+    }
+
+    @Test
+    public void testHugeLengthsFailWithoutAllocating() throws Exception {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        // длина заголовка первой записи: тип, id, статус, epicId
+        ByteBuffer.wrap(bytes).putInt(14 + 1 + 4 + 1 + 4, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+        assertThrows(ManagerSaveException.class, () -> BoardArchive.importBoard(file, new InMemoryTaskManager()));
+
+        bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 4 * 4, Integer.MAX_VALUE); // число id в истории
+        Files.write(file, bytes);
+        assertThrows(ManagerSaveException.class, () -> BoardArchive.importBoard(file, new InMemoryTaskManager()));
+    }
+
+    @Test
+    public void testDuplicateIdIsRejected() throws Exception {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        // записи идут подряд: эпик, затем задача — даём задаче id эпика
+        int epicRecord = 14;
+        int taskRecord = epicRecord + 1 + 4 + 1 + 4 + 4 + buffer.getInt(epicRecord + 10) + 4;
+        buffer.putInt(taskRecord + 1, buffer.getInt(epicRecord + 1));
+        Files.write(file, bytes);
+
+        InMemoryTaskManager restored = new InMemoryTaskManager();
+        assertThrows(IllegalArgumentException.class, () -> BoardArchive.importBoard(file, restored));
+        assertTrue(restored.getAllTasks().isEmpty());
+    }
+
+    @Test
+    public void testSubtaskOrderSurvivesSparseIds() {
+        Epic big = new Epic("Большой", "Описание");
+        taskManager.addEpic(big);
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < 3; j++) {
+                Task filler = new Task("Заполнитель", "Описание");
+                taskManager.addTask(filler);
+                taskManager.removeTaskById(filler.getId());
+            }
+            taskManager.addSubtask(new Subtask("Подзадача " + i, "Описание", big.getId()));
+        }
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, false);
+
+        InMemoryTaskManager restored = new InMemoryTaskManager();
+        BoardArchive.importBoard(file, restored);
+        assertEquals(taskManager.getSubtasksForEpic(big.getId()), restored.getSubtasksForEpic(big.getId()));
+    }
+
+    private void assertRoundTrip(boolean compress) {
+        Path file = dir.resolve("board.bin");
+        BoardArchive.exportBoard(taskManager, file, compress);
+
+        InMemoryTaskManager restored = new InMemoryTaskManager();
+        BoardArchive.importBoard(file, restored);
+
+        List<Integer> historyIds = restored.getHistory().getHistory().stream().map(Task::getId).toList();
+        assertEquals(List.of(subtask.getId(), task.getId(), epic.getId()), historyIds);
+        assertEquals(task, restored.getTaskById(task.getId()));
+        assertEquals(subtask, restored.getSubtaskById(subtask.getId()));
+        assertEquals(TaskStatus.DONE, restored.getEpicById(epic.getId()).getStatus());
+        assertNull(restored.getEpicById(epic.getId()).getDescription());
+        assertEquals(100, restored.getBoardStats().getEpicProgressPercent(epic.getId()));
+
+        Task next = new Task("Новая", "Описание");
+        restored.addTask(next);
+        assertEquals(subtask.getId() + 2, next.getId());
+    }
+}
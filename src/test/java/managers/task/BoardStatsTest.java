@@ -0,0 +1,77 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.BoardStats;
+import managers.InMemoryTaskManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BoardStatsTest {
+    private InMemoryTaskManager taskManager;
+    private BoardStats stats;
+
+    @BeforeEach
+    public void setUp() {
+        taskManager = new InMemoryTaskManager();
+        stats = taskManager.getBoardStats();
+    }
+
+    @Test
+    public void testCountsFollowStatusUpdates() {
+        Task task = new Task("Задача", "Описание");
+        taskManager.addTask(task);
+        assertEquals(1, stats.getCount(TaskType.TASK, TaskStatus.NEW));
+
+        task.setStatus(TaskStatus.DONE);
+        taskManager.updateTask(task);
+        assertEquals(0, stats.getCount(TaskType.TASK, TaskStatus.NEW));
+        assertEquals(1, stats.getCount(TaskType.TASK, TaskStatus.DONE));
+
+        taskManager.removeTaskById(task.getId());
+        assertEquals(0, stats.getCount(TaskType.TASK));
+    }
+
+    @Test
+    public void testEpicProgress() {
+        Epic epic = new Epic("Эпик", "Описание");
+        taskManager.addEpic(epic);
+        Subtask first = new Subtask("Подзадача 1", "Описание", epic.getId());
+        Subtask second = new Subtask("Подзадача 2", "Описание", epic.getId());
+        taskManager.addSubtask(first);
+        taskManager.addSubtask(second);
+
+        first.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(first);
+        assertEquals(1, stats.getEpicDone(epic.getId()));
+        assertEquals(2, stats.getEpicTotal(epic.getId()));
+        assertEquals(50, stats.getEpicProgressPercent(epic.getId()));
+        assertEquals(1, stats.getCount(TaskType.EPIC, TaskStatus.IN_PROGRESS));
+
+        taskManager.removeSubtaskById(second.getId());
+        assertEquals(100, stats.getEpicProgressPercent(epic.getId()));
+        assertEquals(1, stats.getCount(TaskType.EPIC, TaskStatus.DONE));
+
+        taskManager.removeEpicById(epic.getId());
+        assertEquals(0, stats.getCount(TaskType.EPIC));
+        assertEquals(0, stats.getCount(TaskType.SUBTASK));
+        assertEquals(0, stats.getTopEpicCount());
+    }
+
+    @Test
+    public void testTopEpicsBySize() {
+        Epic small = new Epic("Маленький", "Описание");
+        Epic big = new Epic("Большой", "Описание");
+        taskManager.addEpic(small);
+        taskManager.addEpic(big);
+        taskManager.addSubtask(new Subtask("П1", "Описание", small.getId()));
+        for (int i = 0; i < 3; i++) {
+            taskManager.addSubtask(new Subtask("П" + i, "Описание", big.getId()));
+        }
+
+        assertEquals(2, stats.getTopEpicCount());
+        assertEquals(big.getId(), stats.getTopEpicId(0));
+        assertEquals(3, stats.getTopEpicSize(0));
+        assertEquals(small.getId(), stats.getTopEpicId(1));
+    }
+}
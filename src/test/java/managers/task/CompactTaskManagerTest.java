@@ -0,0 +1,119 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.CompactTaskManager;
+import managers.InMemoryTaskManager;
+import managers.TaskManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CompactTaskManagerTest {
+    private static final int FOOTPRINT_SIZE = 200_000;
+
+    private CompactTaskManager taskManager;
+    private Epic epic;
+
+    @BeforeEach
+    public void setUp() {
+        taskManager = new CompactTaskManager();
+        epic = new Epic("Эпик 1", "Описание эпика");
+        taskManager.addEpic(epic);
+    }
+
+    @Test
+    public void testViewsReadAndWriteThrough() {
+        Task task = new Task("Задача 1", "Описание задачи 1");
+        taskManager.addTask(task);
+
+        Task view = taskManager.getTaskById(task.getId());
+        assertEquals(task, view);
+
+        view.setStatus(TaskStatus.IN_PROGRESS);
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getTaskById(task.getId()).getStatus());
+
+        taskManager.removeTaskById(task.getId());
+        assertNull(taskManager.getTaskById(task.getId()));
+        assertTrue(taskManager.getAllTasks().isEmpty());
+    }
+
+    @Test
+    public void testEpicStatusFollowsSubtasks() {
+        Subtask first = new Subtask("Подзадача 1", "Описание", epic.getId());
+        Subtask second = new Subtask("Подзадача 2", "Описание", epic.getId());
+        Subtask third = new Subtask("Подзадача 3", "Описание", epic.getId());
+        taskManager.addSubtask(first);
+        taskManager.addSubtask(second);
+        taskManager.addSubtask(third);
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                taskManager.getSubtasksForEpic(epic.getId()).stream().map(Task::getId).toList());
+        assertEquals(List.of(first, second, third), taskManager.getEpicById(epic.getId()).getSubTasks());
+
+        first.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(first);
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epic.getId()).getStatus());
+
+        taskManager.removeSubtaskById(second.getId());
+        taskManager.removeSubtaskById(third.getId());
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epic.getId()).getStatus());
+        Subtask fourth = new Subtask("Подзадача 4", "Описание", epic.getId());
+        taskManager.addSubtask(fourth);
+        assertEquals(List.of(first.getId(), fourth.getId()),
+                taskManager.getSubtasksForEpic(epic.getId()).stream().map(Task::getId).toList());
+        taskManager.removeSubtaskById(fourth.getId());
+        assertEquals(List.of(first.getId()),
+                taskManager.getSubtasksForEpic(epic.getId()).stream().map(Task::getId).toList());
+
+        taskManager.removeEpicById(epic.getId());
+        assertNull(taskManager.getSubtaskById(first.getId()));
+    }
+
+    @Test
+    public void testEpicViewBulkAddLinksSubtasks() {
+        Subtask first = new Subtask("Подзадача 1", "Описание", epic.getId());
+        Subtask second = new Subtask("Подзадача 2", "Описание", epic.getId());
+        taskManager.addSubtask(first);
+        taskManager.addSubtask(second);
+        second.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(second);
+        Epic other = new Epic("Эпик 2", "Описание");
+        taskManager.addEpic(other);
+
+        taskManager.getEpicById(other.getId()).addSubTasks(List.of(first, second));
+        assertEquals(List.of(first.getId(), second.getId()),
+                taskManager.getSubtasksForEpic(other.getId()).stream().map(Task::getId).toList());
+        assertTrue(taskManager.getSubtasksForEpic(epic.getId()).isEmpty());
+        assertEquals(other.getId(), taskManager.getSubtaskById(first.getId()).getEpicId());
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(other.getId()).getStatus());
+    }
+
+    @Test
+    public void testHeapFootprintIsAtLeastHalved() {
+        long objectBytes = footprint(new InMemoryTaskManager());
+        long compactBytes = footprint(new CompactTaskManager());
+        assertTrue(compactBytes * 2 <= objectBytes,
+                "compact=" + compactBytes + " objects=" + objectBytes);
+    }
+
+    // каждый заголовок — новый экземпляр строки, как после разбора входных данных.
+    // Удалений нет: массивы растут до наибольшего id, и при частых удалениях выигрыш меньше
+    private static long footprint(TaskManager manager) {
+        long before = usedHeap();
+        for (int i = 0; i < FOOTPRINT_SIZE; i++) {
+            manager.addTask(new Task("Шаблон " + (i % 16), "Описание шаблона " + (i % 16)));
+        }
+        long after = usedHeap();
+        assertEquals(FOOTPRINT_SIZE, manager.getAllTasks().size());
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,100 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.InMemoryTaskManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class DependencyGraphTest {
+    private InMemoryTaskManager taskManager;
+    private Task design;
+    private Epic release;
+    private Subtask build;
+
+    @BeforeEach
+    public void setUp() {
+        taskManager = new InMemoryTaskManager();
+        design = new Task("Дизайн", "Описание");
+        taskManager.addTask(design);
+        release = new Epic("Релиз", "Описание");
+        taskManager.addEpic(release);
+        build = new Subtask("Сборка", "Описание", release.getId());
+        taskManager.addSubtask(build);
+    }
+
+    @Test
+    public void testBlockedTasksBecomeReadyWhenBlockerIsDone() {
+        taskManager.addDependency(design.getId(), build.getId());
+        assertEquals(List.of(design, release), taskManager.getReadyTasks());
+        assertEquals(1, taskManager.getDependencies().getOpenBlockers(build.getId()));
+
+        design.setStatus(TaskStatus.DONE);
+        taskManager.updateTask(design);
+        assertTrue(taskManager.getDependencies().isReady(build.getId()));
+        assertFalse(taskManager.getDependencies().isReady(design.getId()));
+
+        design.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateTask(design);
+        assertFalse(taskManager.getDependencies().isReady(build.getId()));
+    }
+
+    @Test
+    public void testEpicStatusNotifiesDependents() {
+        Task deploy = new Task("Выкладка", "Описание");
+        taskManager.addTask(deploy);
+        taskManager.addDependency(release.getId(), deploy.getId());
+        assertFalse(taskManager.getDependencies().isReady(deploy.getId()));
+
+        build.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(build);
+        assertTrue(taskManager.getDependencies().isReady(deploy.getId()));
+    }
+
+    @Test
+    public void testCycleIsRejected() {
+        Task deploy = new Task("Выкладка", "Описание");
+        taskManager.addTask(deploy);
+        taskManager.addDependency(design.getId(), deploy.getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.addDependency(deploy.getId(), design.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.addDependency(design.getId(), design.getId()));
+    }
+
+    @Test
+    public void testEpicCannotBlockItsOwnSubtask() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.addDependency(release.getId(), build.getId()));
+
+        Task deploy = new Task("Выкладка", "Описание");
+        taskManager.addTask(deploy);
+        taskManager.addDependency(release.getId(), deploy.getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.addDependency(deploy.getId(), build.getId()));
+        assertTrue(taskManager.getDependencies().isReady(build.getId()));
+    }
+
+    @Test
+    public void testRemovingBlockerUnblocksDependents() {
+        taskManager.addDependency(design.getId(), build.getId());
+        taskManager.removeTaskById(design.getId());
+        assertTrue(taskManager.getDependencies().isReady(build.getId()));
+        assertTrue(taskManager.getDependencies().getBlockers(build.getId()).isEmpty());
+    }
+
+    @Test
+    public void testRemovedDependencyRestoresReadiness() {
+        Task deploy = new Task("Выкладка", "Описание");
+        taskManager.addTask(deploy);
+        taskManager.addDependency(design.getId(), deploy.getId());
+        assertEquals(List.of(design, release, build), taskManager.getReadyTasks());
+
+        taskManager.removeDependency(design.getId(), deploy.getId());
+        assertEquals(0, taskManager.getDependencies().getOpenBlockers(deploy.getId()));
+        assertTrue(taskManager.getDependencies().getBlockers(deploy.getId()).isEmpty());
+        assertEquals(List.of(design, release, build, deploy), taskManager.getReadyTasks());
+    }
+}
@@ -0,0 +1,126 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.InMemoryTaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class DescriptionArenaTest {
+    private DescriptionArena arena;
+    private InMemoryTaskManager taskManager;
+
+    @BeforeEach
+    public void setUp() {
+        arena = new DescriptionArena(64);
+        taskManager = new InMemoryTaskManager(arena);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Test
+    public void testDescriptionsLiveOffHeap() {
+        Task task = new Task("Задача 1", "Описание задачи 1");
+        taskManager.addTask(task);
+
+        assertTrue(arena.getLiveBytes() > 0);
+        assertEquals("Описание задачи 1", taskManager.getTaskById(task.getId()).getDescription());
+
+        task.setDescription("Новое описание");
+        taskManager.updateTask(task);
+        assertEquals("Новое описание", taskManager.getTaskById(task.getId()).getDescription());
+    }
+
+    @Test
+    public void testRemoveReclaimsSpace() {
+        Epic epic = new Epic("Эпик", "Описание эпика");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача", "Описание подзадачи", epic.getId());
+        taskManager.addSubtask(subtask);
+
+        taskManager.removeEpicById(epic.getId());
+
+        assertEquals("Описание подзадачи", subtask.getDescription());
+        assertEquals("Описание эпика", epic.getDescription());
+        assertEquals(0, arena.getLiveBytes());
+    }
+
+    @Test
+    public void testUnreadRemovedDescriptionsAreFreedByGc() throws InterruptedException {
+        addAndRemoveTasks(100);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (arena.getLiveBytes() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, arena.getLiveBytes());
+    }
+
+    @Test
+    public void testCompactionShrinksBuffer() {
+        for (int i = 0; i < 1_000; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание задачи номер " + i));
+        }
+        Task kept = taskManager.getAllTasks().get(0);
+        String description = kept.getDescription();
+        int peak = arena.getCapacity();
+        for (Task task : taskManager.getAllTasks()) {
+            if (task != kept) {
+                taskManager.removeTaskById(task.getId());
+                task.getDescription();
+            }
+        }
+
+        arena.compact();
+
+        assertTrue(arena.getCapacity() < peak / 100, "capacity=" + arena.getCapacity() + " peak=" + peak);
+        assertEquals(description, kept.getDescription());
+    }
+
+    private void addAndRemoveTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание " + i));
+        }
+        taskManager.removeAllTasks();
+    }
+
+    @Test
+    public void testCompactionKeepsHandlesValid() {
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("Задача " + i, "Описание " + i);
+            taskManager.addTask(task);
+            if (i % 2 == 0) taskManager.removeTaskById(task.getId());
+        }
+        Task kept = taskManager.getAllTasks().get(0);
+        String description = kept.getDescription();
+
+        arena.compact();
+
+        assertEquals(0, arena.getGarbageBytes());
+        assertEquals(description, kept.getDescription());
+    }
+
+    @Test
+    public void testBackgroundCompaction() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            Task task = new Task("Задача " + i, "Описание " + i);
+            taskManager.addTask(task);
+            task.setDescription(null);
+            taskManager.updateTask(task);
+        }
+        assertTrue(arena.getGarbageBytes() > 0);
+
+        arena.startBackgroundCompaction(10, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (arena.getGarbageBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, arena.getGarbageBytes());
+    }
+}
@@ -0,0 +1,65 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.InMemoryTaskManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class HotTaskTrackerTest {
+
+    @Test
+    public void testMostViewedThroughTaskManager() {
+        InMemoryTaskManager taskManager = new InMemoryTaskManager();
+        Task rare = new Task("Редкая", "Описание");
+        Task hot = new Task("Горячая", "Описание");
+        Task warm = new Task("Тёплая", "Описание");
+        taskManager.addTask(rare);
+        taskManager.addTask(hot);
+        taskManager.addTask(warm);
+
+        taskManager.getTaskById(rare.getId());
+        for (int i = 0; i < 10; i++) {
+            taskManager.getTaskById(hot.getId());
+        }
+        for (int i = 0; i < 5; i++) {
+            taskManager.getTaskById(warm.getId());
+        }
+
+        assertEquals(List.of(hot, warm), taskManager.getHistory().getMostViewed(2));
+
+        taskManager.removeTaskById(hot.getId());
+        assertEquals(List.of(warm, rare), taskManager.getHistory().getMostViewed(5));
+    }
+
+    @Test
+    public void testHeapStaysBounded() {
+        HotTaskTracker tracker = new HotTaskTracker(64, 4);
+        Task hot = new Task("Горячая", "Описание");
+        hot.setId(1);
+        for (int i = 0; i < 50; i++) {
+            tracker.record(hot);
+        }
+        for (int id = 2; id < 1_000; id++) {
+            Task task = new Task("Задача " + id, "Описание");
+            task.setId(id);
+            tracker.record(task);
+        }
+
+        List<Task> mostViewed = tracker.getMostViewed(10);
+        assertEquals(4, mostViewed.size());
+        assertEquals(hot, mostViewed.get(0));
+    }
+
+    @Test
+    public void testAgingHalvesOldCounts() {
+        HotTaskTracker tracker = new HotTaskTracker(16, 4);
+        Task task = new Task("Задача", "Описание");
+        task.setId(1);
+        for (int i = 0; i < 200; i++) {
+            tracker.record(task);
+        }
+        assertTrue(tracker.estimate(1) < 200);
+    }
+}
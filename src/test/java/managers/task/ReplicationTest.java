@@ -0,0 +1,110 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.InMemoryTaskManager;
+import managers.ReplicaTaskManager;
+import managers.ReplicationPrimary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicationTest {
+    private InMemoryTaskManager primaryManager;
+    private ReplicationPrimary primary;
+
+    @BeforeEach
+    public void setUp() {
+        primaryManager = new InMemoryTaskManager();
+        primaryManager.addTask(new Task("Задача до старта", "Описание"));
+        primary = new ReplicationPrimary(primaryManager, 0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        primary.close();
+    }
+
+    @Test
+    public void testReplicasConvergeWithPrimary() throws InterruptedException {
+        try (ReplicaTaskManager first = new ReplicaTaskManager("localhost", primary.getPort());
+             ReplicaTaskManager second = new ReplicaTaskManager("localhost", primary.getPort())) {
+            Epic epic = new Epic("Эпик", "Описание эпика");
+            primaryManager.addEpic(epic);
+            Subtask subtask = new Subtask("Подзадача", "Описание", epic.getId());
+            primaryManager.addSubtask(subtask);
+            subtask.setStatus(TaskStatus.DONE);
+            primaryManager.updateSubtask(subtask);
+            primaryManager.removeTaskById(1);
+
+            for (ReplicaTaskManager replica : new ReplicaTaskManager[]{first, second}) {
+                assertTrue(replica.awaitSequence(primary.getSequence(), 5, TimeUnit.SECONDS));
+                assertTrue(replica.getAllTasks().isEmpty());
+                assertEquals(TaskStatus.DONE, replica.getEpicById(epic.getId()).getStatus());
+                assertEquals(subtask, replica.getSubtaskById(subtask.getId()));
+                assertEquals(0, replica.getLagEntries());
+            }
+        }
+    }
+
+    @Test
+    public void testLateReplicaReceivesSnapshot() throws InterruptedException {
+        Epic epic = new Epic("Эпик", "Описание эпика");
+        primaryManager.addEpic(epic);
+        primaryManager.addSubtask(new Subtask("Подзадача", "Описание", epic.getId()));
+
+        try (ReplicaTaskManager replica = new ReplicaTaskManager("localhost", primary.getPort())) {
+            assertTrue(replica.awaitSequence(primary.getSequence(), 5, TimeUnit.SECONDS));
+            assertEquals(1, replica.getAllTasks().size());
+            assertEquals(1, replica.getSubtasksForEpic(epic.getId()).size());
+            assertThrows(UnsupportedOperationException.class,
+                    () -> replica.addTask(new Task("Задача", "Описание")));
+        }
+    }
+
+    @Test
+    public void testReadsReturnCopies() throws InterruptedException {
+        try (ReplicaTaskManager replica = new ReplicaTaskManager("localhost", primary.getPort())) {
+            assertTrue(replica.awaitSequence(primary.getSequence(), 5, TimeUnit.SECONDS));
+            Task copy = replica.getTaskById(1);
+            copy.setTitle("Изменено читателем");
+
+            assertEquals("Задача до старта", replica.getTaskById(1).getTitle());
+            assertEquals("Задача до старта", replica.getHistory().getHistory().get(0).getTitle());
+        }
+    }
+
+    @Test
+    public void testReplicaReconnectsAndReloadsSnapshot() throws InterruptedException {
+        int port = primary.getPort();
+        try (ReplicaTaskManager replica = new ReplicaTaskManager("localhost", port)) {
+            assertTrue(replica.awaitSequence(primary.getSequence(), 5, TimeUnit.SECONDS));
+            primary.close();
+            assertTrue(awaitCondition(() -> !replica.isConnected()));
+            assertEquals(-1, replica.getLagEntries());
+            assertEquals(-1, replica.getLagMillis());
+            assertEquals(1, replica.getAllTasks().size());
+
+            InMemoryTaskManager restarted = new InMemoryTaskManager();
+            Epic epic = new Epic("Эпик после перезапуска", "Описание");
+            restarted.addEpic(epic);
+            primary = new ReplicationPrimary(restarted, InetAddress.getLoopbackAddress(), port);
+
+            assertTrue(awaitCondition(() -> replica.isConnected() && replica.getAllEpics().size() == 1));
+            assertTrue(replica.getAllTasks().isEmpty());
+            assertEquals(0, replica.getLagEntries());
+        }
+    }
+
+    private static boolean awaitCondition(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
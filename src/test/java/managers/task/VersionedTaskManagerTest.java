@@ -0,0 +1,116 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.Mutation;
+import managers.TaskRecord;
+import managers.VersionedTaskManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VersionedTaskManagerTest {
+    private VersionedTaskManager taskManager;
+    private Epic epic;
+    private Subtask subtask;
+
+    @BeforeEach
+    public void setUp() {
+        taskManager = new VersionedTaskManager();
+        epic = new Epic("Эпик 1", "Описание эпика");
+        taskManager.addEpic(epic);
+        subtask = new Subtask("Подзадача 1", "Описание подзадачи", epic.getId());
+        taskManager.addSubtask(subtask);
+    }
+
+    @Test
+    public void testEveryMutationCreatesVersion() {
+        assertEquals(2, taskManager.getVersion());
+
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+        assertEquals(3, taskManager.getVersion());
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epic.getId()).getStatus());
+
+        VersionedTaskManager.Snapshot before = taskManager.at(2);
+        assertEquals(TaskStatus.NEW, before.getEpicById(epic.getId()).getStatus());
+        assertEquals(TaskStatus.NEW, before.getSubtaskById(subtask.getId()).getStatus());
+        assertNull(taskManager.at(0).getEpicById(epic.getId()));
+    }
+
+    @Test
+    public void testUndoAndRedo() {
+        Task task = new Task("Задача", "Описание");
+        taskManager.addTask(task);
+        taskManager.removeEpicById(epic.getId());
+        assertTrue(taskManager.getAllSubtasks().isEmpty());
+
+        assertTrue(taskManager.undo());
+        assertEquals(1, taskManager.getSubtasksForEpic(epic.getId()).size());
+        assertTrue(taskManager.redo());
+        assertNull(taskManager.getEpicById(epic.getId()));
+
+        taskManager.undo();
+        taskManager.undo();
+        assertNull(taskManager.getTaskById(task.getId()));
+        taskManager.addTask(new Task("Другая", "Описание"));
+        assertFalse(taskManager.redo());
+    }
+
+    @Test
+    public void testVersionsStayStableAfterUndo() {
+        Task first = new Task("Первая", "Описание");
+        taskManager.addTask(first);
+        int firstVersion = taskManager.getVersion();
+
+        assertTrue(taskManager.undo());
+        Task second = new Task("Вторая", "Описание");
+        taskManager.addTask(second);
+
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals("Первая", taskManager.at(firstVersion).getTaskById(first.getId()).getTitle());
+        assertNull(taskManager.at(firstVersion).getTaskById(second.getId()));
+        assertNull(taskManager.getTaskById(first.getId()));
+        assertEquals(List.of(Mutation.upsert(new TaskRecord(TaskType.TASK, second.getId(), "Вторая",
+                        "Описание", TaskStatus.NEW, 0))),
+                taskManager.diff(firstVersion + 1, taskManager.getVersion()));
+    }
+
+    @Test
+    public void testDiffReportsOnlyChanges() {
+        for (int i = 0; i < 1_000; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание"));
+        }
+        int from = taskManager.getVersion();
+        subtask.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateSubtask(subtask);
+        taskManager.removeTaskById(epic.getId() + 2);
+
+        List<Mutation> diff = taskManager.diff(from, taskManager.getVersion());
+        assertEquals(3, diff.size());
+        assertTrue(diff.contains(Mutation.removal(epic.getId() + 2)));
+        assertTrue(diff.stream().anyMatch(m -> m.id() == epic.getId()
+                && m.state().status() == TaskStatus.IN_PROGRESS));
+        assertTrue(taskManager.diff(from, from).isEmpty());
+    }
+
+    @Test
+    public void testListsKeepInsertionOrder() {
+        Epic big = new Epic("Большой", "Описание");
+        taskManager.addEpic(big);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Subtask next = new Subtask("Подзадача " + i, "Описание", big.getId());
+            taskManager.addSubtask(next);
+            expected.add(next.getId());
+        }
+        assertEquals(expected, taskManager.getSubtasksForEpic(big.getId()).stream().map(Task::getId).toList());
+        assertEquals(expected, taskManager.getEpicById(big.getId()).getSubTasks().stream()
+                .map(Task::getId).toList());
+        expected.add(0, subtask.getId());
+        assertEquals(expected, taskManager.getAllSubtasks().stream()
+                .map(Task::getId).toList());
+    }
+}
@@ -0,0 +1,111 @@
+package managers.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import managers.InMemoryTaskManager;
+import managers.WriteBehindPersistence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class WriteBehindPersistenceTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testStateReachesDiskAfterClose() {
+        Path file = dir.resolve("board.log");
+        InMemoryTaskManager taskManager = new InMemoryTaskManager();
+        WriteBehindPersistence persistence = new WriteBehindPersistence(file, 1);
+        taskManager.addMutationListener(persistence);
+
+        Task task = new Task("Задача, с запятой", "Описание\nв две строки");
+        taskManager.addTask(task);
+        Epic epic = new Epic("Эпик", "Описание эпика");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача", "Описание", epic.getId());
+        taskManager.addSubtask(subtask);
+        subtask.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+        Task removed = new Task("Удалённая", "Описание");
+        taskManager.addTask(removed);
+        taskManager.removeTaskById(removed.getId());
+        persistence.close();
+
+        InMemoryTaskManager restored = WriteBehindPersistence.load(file);
+        assertEquals(task, restored.getTaskById(task.getId()));
+        assertNull(restored.getTaskById(removed.getId()));
+        assertEquals(TaskStatus.DONE, restored.getEpicById(epic.getId()).getStatus());
+        assertEquals(1, restored.getSubtasksForEpic(epic.getId()).size());
+
+        Task next = new Task("Новая", "Описание");
+        restored.addTask(next);
+        assertEquals(removed.getId() + 1, next.getId());
+    }
+
+    @Test
+    public void testRepeatedUpdatesAreCoalesced() throws IOException {
+        Path file = dir.resolve("board.log");
+        InMemoryTaskManager taskManager = new InMemoryTaskManager();
+        WriteBehindPersistence persistence = new WriteBehindPersistence(file, 16);
+        taskManager.addMutationListener(persistence);
+
+        Task task = new Task("Задача", "Описание");
+        taskManager.addTask(task);
+        for (int i = 0; i < 1_000; i++) {
+            task.setTitle("Задача " + i);
+            taskManager.updateTask(task);
+        }
+        persistence.flush();
+
+        assertTrue(Files.readAllLines(file).size() < 1_000);
+        assertEquals("Задача 999", WriteBehindPersistence.load(file).getTaskById(task.getId()).getTitle());
+        persistence.close();
+    }
+
+    @Test
+    public void testTornTailIsDropped() throws IOException {
+        Path file = dir.resolve("board.log");
+        InMemoryTaskManager taskManager = new InMemoryTaskManager();
+        WriteBehindPersistence persistence = new WriteBehindPersistence(file, 16);
+        taskManager.addMutationListener(persistence);
+        for (int i = 0; i < 5; i++) {
+            taskManager.addTask(new Task("t" + i, "Описание"));
+        }
+        persistence.close();
+        long complete = Files.size(file);
+        Files.writeString(file, "6,TASK,t5,N", StandardOpenOption.APPEND);
+
+        InMemoryTaskManager restored = WriteBehindPersistence.load(file);
+        assertEquals(5, restored.getAllTasks().size());
+        assertNull(restored.getTaskById(6));
+        assertEquals(complete, Files.size(file));
+
+        WriteBehindPersistence reopened = new WriteBehindPersistence(file, 16);
+        restored.addMutationListener(reopened);
+        restored.addTask(new Task("t5", "Описание"));
+        reopened.close();
+        assertEquals(6, WriteBehindPersistence.load(file).getAllTasks().size());
+    }
+
+    @Test
+    public void testListenerFailureLeavesBoardConsistent() {
+        Path file = dir.resolve("board.log");
+        InMemoryTaskManager taskManager = new InMemoryTaskManager();
+        WriteBehindPersistence persistence = new WriteBehindPersistence(file, 16);
+        taskManager.addMutationListener(persistence);
+        Epic epic = new Epic("Эпик", "Описание");
+        taskManager.addEpic(epic);
+        persistence.close();
+
+        Subtask subtask = new Subtask("Подзадача", "Описание", epic.getId());
+        assertThrows(IllegalStateException.class, () -> taskManager.addSubtask(subtask));
+        assertEquals(List.of(subtask), taskManager.getSubtasksForEpic(epic.getId()));
+        assertEquals(1, taskManager.getBoardStats().getEpicTotal(epic.getId()));
+    }
+}